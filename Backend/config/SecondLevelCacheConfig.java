@@ -0,0 +1,65 @@
+package com.example.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Hibernate second-level and query cache for the catalog entities (medicines, active ingredients,
+ * drug interactions, companies), backed by Caffeine through JCache. Region sizes live in the
+ * Caffeine config file named by medica.l2-cache.config (caffeine-jcache.conf on the classpath).
+ * Needs org.hibernate.orm:hibernate-jcache and com.github.ben-manes.caffeine:jcache at runtime;
+ * without them the cache stays off and the app runs uncached, as before.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheConfig.class);
+
+    public static final String MEDICINE_REGION = "medicine";
+    public static final String ACTIVE_INGREDIENT_REGION = "active-ingredient";
+    public static final String DRUG_INTERACTION_REGION = "drug-interaction";
+    public static final String COMPANY_REGION = "pharmaceutical-company";
+    public static final String QUERY_REGION = "default-query-results-region"; // Hibernate's default query cache region
+
+    public static final List<String> REGIONS = List.of(
+            MEDICINE_REGION, ACTIVE_INGREDIENT_REGION, DRUG_INTERACTION_REGION, COMPANY_REGION, QUERY_REGION);
+
+    private static final String JCACHE_REGION_FACTORY = "org.hibernate.cache.jcache.internal.JCacheRegionFactory";
+    private static final String CAFFEINE_PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    @Value("${medica.l2-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${medica.l2-cache.config:classpath:caffeine-jcache.conf}")
+    private String configUri;
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            if (!enabled) {
+                return;
+            }
+            ClassLoader classLoader = getClass().getClassLoader();
+            if (!ClassUtils.isPresent(JCACHE_REGION_FACTORY, classLoader)
+                    || !ClassUtils.isPresent(CAFFEINE_PROVIDER, classLoader)) {
+                logger.warn("Second-level cache not enabled: hibernate-jcache or caffeine jcache is missing from the classpath");
+                return;
+            }
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.use_query_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.provider", CAFFEINE_PROVIDER);
+            properties.put("hibernate.javax.cache.uri", configUri);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "create");
+            properties.put("hibernate.generate_statistics", true);
+            logger.info("Second-level cache enabled for regions {} ({})", REGIONS, configUri);
+        };
+    }
+}
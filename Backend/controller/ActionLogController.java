@@ -2,9 +2,14 @@ package com.example.demo.controller;
 
 import com.example.demo.model.ActionLog;
 import com.example.demo.service.ActionLogService;
+import com.example.demo.util.JsonStreamWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -14,11 +19,33 @@ public class ActionLogController {
     @Autowired
     private final ActionLogService actionLogService;
 
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     public ActionLogController(ActionLogService actionLogService) {
         this.actionLogService = actionLogService;
     }
 
+    // Keyset-paginated, filtered logs (newest first), streamed as {"items": [...], "nextCursor": id}
+    @GetMapping("/page")
+    public ResponseEntity<StreamingResponseBody> getActionLogPage(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        StreamingResponseBody body = jsonStreamWriter.page(
+                () -> actionLogService.streamActionLogPage(username, userId, action, from, to, cursor, pageSize),
+                pageSize, ActionLog::getId);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     // Retrieve all action logs
     @GetMapping
     public ResponseEntity<List<ActionLog>> getAllActionLogs() {
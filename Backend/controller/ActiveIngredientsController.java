@@ -2,11 +2,14 @@ package com.example.demo.controller;
 
 import com.example.demo.model.ActiveIngredients;
 import com.example.demo.repository.ActiveIngredientsRepository;
+import com.example.demo.service.ActiveIngredientDictionary;
+import com.example.demo.util.JsonStreamWriter;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -14,14 +17,20 @@ import java.util.Optional;
 public class ActiveIngredientsController {
 
     private final ActiveIngredientsRepository repository;
+    private final JsonStreamWriter jsonStreamWriter;
+    private final ActiveIngredientDictionary dictionary;
 
-    public ActiveIngredientsController(ActiveIngredientsRepository repository) {
+    public ActiveIngredientsController(ActiveIngredientsRepository repository, JsonStreamWriter jsonStreamWriter,
+                                       ActiveIngredientDictionary dictionary) {
         this.repository = repository;
+        this.jsonStreamWriter = jsonStreamWriter;
+        this.dictionary = dictionary;
     }
 
     @GetMapping
-    public List<ActiveIngredients> getAll() {
-        return repository.findAll();
+    public ResponseEntity<StreamingResponseBody> getAll() {
+        StreamingResponseBody body = jsonStreamWriter.array(repository::streamAll);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/{id}")
@@ -31,9 +40,9 @@ public class ActiveIngredientsController {
 
     @GetMapping("/description")
     public ResponseEntity<String> getDescription(@RequestParam String name) {
-        Optional<ActiveIngredients> ingredient = repository.findByActiveIngredientIgnoreCase(name);
-        if (ingredient.isPresent()) {
-            return ResponseEntity.ok(ingredient.get().getDescription());
+        Optional<String> description = dictionary.getDescription(name); // in-memory, never hits the DB
+        if (description.isPresent()) {
+            return ResponseEntity.ok(description.get());
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("No description found.");
         }
@@ -9,10 +9,13 @@ import com.example.demo.service.ActionLogService;
 import com.example.demo.service.DoctorService;
 import com.example.demo.service.UserService;
 import com.example.demo.dto.PasswordValidator;
+import com.example.demo.util.JsonStreamWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +32,8 @@ public class AuthController
     private DoctorService doctorService;
     @Autowired
     private ActionLogService actionLogService;  // Add this line to inject ActionLogService
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
 
 
     @PostMapping("/login")
@@ -91,8 +96,9 @@ public class AuthController
     }
 
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<StreamingResponseBody> getAllUsers() {
+        StreamingResponseBody body = jsonStreamWriter.array(userService::streamAllUsers);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @DeleteMapping("/user/{id}")
@@ -0,0 +1,31 @@
+package com.example.demo.controller;
+
+import com.example.demo.service.ReadCacheRegistry;
+import com.example.demo.service.SecondLevelCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+public class CacheController {
+
+    @Autowired
+    private ReadCacheRegistry cacheRegistry;
+
+    @Autowired
+    private SecondLevelCacheService secondLevelCacheService;
+
+    // Size, hits, misses, hit rate and evictions of every read cache
+    @GetMapping("/stats")
+    public Map<String, Map<String, Object>> getCacheStats() {
+        return cacheRegistry.getStats();
+    }
+
+    // Hibernate second-level and query cache hits, misses and entries per region
+    @GetMapping("/hibernate")
+    public Map<String, Object> getSecondLevelCacheStats() {
+        return secondLevelCacheService.getStats();
+    }
+}
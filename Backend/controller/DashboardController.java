@@ -0,0 +1,49 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.DoctorDashboardDTO;
+import com.example.demo.dto.PanelRiskJob;
+import com.example.demo.service.DoctorDashboardService;
+import com.example.demo.service.PanelRiskJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DoctorDashboardService doctorDashboardService;
+
+    @Autowired
+    private PanelRiskJobService panelRiskJobService;
+
+    // Patient and visit figures for one doctor, served from the maintained aggregates
+    @GetMapping("/doctor/{doctorId}")
+    public DoctorDashboardDTO getDoctorDashboard(@PathVariable Long doctorId) {
+        return doctorDashboardService.getDashboard(doctorId);
+    }
+
+    // Start an improvement-risk report for all of the doctor's patients; poll it by job id
+    @PostMapping("/doctor/{doctorId}/risk-reports")
+    public ResponseEntity<?> submitRiskReport(@PathVariable Long doctorId) {
+        try {
+            PanelRiskJob job = panelRiskJobService.submit(doctorId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Progress and, once finished, the patients ordered from lowest improvement probability
+    @GetMapping("/risk-reports/{jobId}")
+    public ResponseEntity<?> getRiskReport(@PathVariable String jobId) {
+        return panelRiskJobService.getJob(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Risk report not found."));
+    }
+}
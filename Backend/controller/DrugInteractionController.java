@@ -29,9 +29,26 @@ public class DrugInteractionController {
         return ResponseEntity.ok(interactions);
     }
 
+    // Whole-prescription screening: every interacting pair among the given drugs in one call
+    @PostMapping("/check-prescription")
+    public ResponseEntity<?> checkPrescription(@RequestBody List<String> drugs) {
+        if (drugs == null || drugs.size() < 2) {
+            return ResponseEntity.badRequest().body("Please provide at least two drugs.");
+        }
+        return ResponseEntity.ok(service.screenPrescription(drugs));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<DrugInteraction>> searchDrugPrefix(@RequestParam("name") String name) {
         List<DrugInteraction> matches = drugInteractionRepository.searchByDrugPrefix(name);
         return ResponseEntity.ok(matches);
     }
+
+    // Autocomplete: distinct drug names only, ranked and limited, served from memory
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggestDrugNames(
+            @RequestParam("name") String name,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(service.suggestDrugNames(name, limit));
+    }
 }
@@ -1,31 +1,29 @@
 package com.example.demo.controller;
 
-import com.example.demo.model.Favorites;
-import com.example.demo.repository.FavoritesRepository;
+import com.example.demo.service.FavoritesService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Set;
+
 @RestController
 @RequestMapping("/favorites")
 public class FavoritesController {
 
     @Autowired
-    private FavoritesRepository favoriteCompanyRepository;
+    private FavoritesService favoritesService;
 
     // Add to favorites
     @PostMapping("/add/{doctorId}/{companyId}")
     public String addToFavorites(@PathVariable Long doctorId, @PathVariable Long companyId) {
-        Favorites favorite = new Favorites(companyId, doctorId);
-        favoriteCompanyRepository.save(favorite);
+        favoritesService.addFavorite(doctorId, companyId);
         return "Added to favorites successfully.";
     }
 
     // Remove from favorites
     @DeleteMapping("/remove/{doctorId}/{companyId}")
     public String removeFromFavorites(@PathVariable Long doctorId, @PathVariable Long companyId) {
-        Favorites favorite = favoriteCompanyRepository.findByDoctorIdAndCompanyId(doctorId, companyId);
-        if (favorite != null) {
-            favoriteCompanyRepository.delete(favorite);
+        if (favoritesService.removeFavorite(doctorId, companyId)) {
             return "Removed from favorites successfully.";
         } else {
             return "Favorite not found.";
@@ -34,7 +32,12 @@ public class FavoritesController {
 
     @GetMapping("/exists/{doctorId}/{companyId}")
     public boolean isFavorite(@PathVariable Long doctorId, @PathVariable Long companyId) {
-        Favorites favorite = favoriteCompanyRepository.findByDoctorIdAndCompanyId(doctorId, companyId);
-        return favorite != null;
+        return favoritesService.isFavorite(doctorId, companyId);
+    }
+
+    // All favorite company ids of a doctor in one call
+    @GetMapping("/{doctorId}")
+    public Set<Long> getFavoriteCompanyIds(@PathVariable Long doctorId) {
+        return favoritesService.getFavoriteCompanyIds(doctorId);
     }
 }
@@ -1,19 +1,28 @@
 package com.example.demo.controller;
 
 import com.example.demo.dto.AddMedicineRequest;
+import com.example.demo.dto.DatasetUploadJob;
+import com.example.demo.dto.MedicineSuggestion;
 import com.example.demo.dto.UpdateMedicineRequest;
 import com.example.demo.model.Medicine;
 import com.example.demo.repository.MedicineRepository;
+import com.example.demo.service.DatasetUploadJobService;
+import com.example.demo.service.MedicineSearchIndex;
 import com.example.demo.service.MedicineService;
+import com.example.demo.util.JsonStreamWriter;
+import com.example.demo.util.MedicineCSVLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Collections;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -26,6 +35,18 @@ public class MedicineController {
     @Autowired
     private MedicineRepository medicineRepository;
 
+    @Autowired
+    private MedicineSearchIndex searchIndex;
+
+    @Autowired
+    private DatasetUploadJobService uploadJobService;
+
+    @Autowired
+    private MedicineCSVLoader medicineCSVLoader;
+
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+
     public MedicineController(MedicineRepository medicineRepository) {
         this.medicineRepository = medicineRepository;
     }
@@ -83,29 +104,67 @@ public class MedicineController {
             @RequestParam("companyId") Long companyId) {
 
         // Validate file type - only allow CSV files
-        String contentType = file.getContentType();
-        if (contentType == null || !contentType.equals("text/csv") && !file.getOriginalFilename().endsWith(".csv")) {
+        if (!isCsv(file)) {
             // Return error response if the file is not a CSV
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid file type. Please upload a CSV file.");
         }
 
         try {
-            String result = medicineService.processMedicineDataset(file, companyId);
+            // Counts against the same per-company limit as upload jobs
+            String result = uploadJobService.processNow(file, companyId);
             return ResponseEntity.ok(result);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
         } catch (Exception e) {
             // Handle any exceptions thrown by the service
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Upload failed: " + e.getMessage());
         }
     }
 
+    // Job mode: accept the file, return a job id right away and process it in the background
+    @PostMapping("/upload-dataset/jobs")
+    public ResponseEntity<?> submitDatasetJob(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("companyId") Long companyId) {
+
+        if (!isCsv(file)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid file type. Please upload a CSV file.");
+        }
+
+        try {
+            DatasetUploadJob job = uploadJobService.submit(file, companyId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Upload failed: " + e.getMessage());
+        }
+    }
+
+    // Progress (rows read/inserted/duplicates) and, once finished, the final report
+    @GetMapping("/upload-dataset/jobs/{jobId}")
+    public ResponseEntity<?> getDatasetJob(@PathVariable String jobId) {
+        return uploadJobService.getJob(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Upload job not found."));
+    }
+
+    private boolean isCsv(MultipartFile file) {
+        String contentType = file.getContentType();
+        return !(contentType == null || !contentType.equals("text/csv") && !file.getOriginalFilename().endsWith(".csv"));
+    }
+
 
     @GetMapping("/by-company/{companyId}")
-    public ResponseEntity<List<Medicine>> getAllMedicinesByCompanyId(@PathVariable Long companyId) {
-        List<Medicine> medicines = medicineService.getMedicinesByCompanyId(companyId);
-        if (medicines.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.emptyList());
+    public ResponseEntity<StreamingResponseBody> getAllMedicinesByCompanyId(@PathVariable Long companyId) {
+        if (!medicineService.hasMedicines(companyId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> out.write("[]".getBytes(StandardCharsets.UTF_8)));
         }
-        return ResponseEntity.ok(medicines);
+        StreamingResponseBody body = jsonStreamWriter.array(() -> medicineService.streamMedicinesByCompanyId(companyId));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/getMedicineById")
@@ -123,6 +182,23 @@ public class MedicineController {
         return medicineRepository.searchByNamePrefix(name);
     }
 
+    // Whether the built-in medicine dataset has finished loading after startup
+    @GetMapping("/dataset-status")
+    public Map<String, Object> getDatasetStatus() {
+        return Map.of(
+                "ready", medicineCSVLoader.isReady(),
+                "rowsLoaded", medicineCSVLoader.getRowsLoaded()
+        );
+    }
+
+    // Autocomplete: top-K {id, name, company} hits served from the in-memory index
+    @GetMapping("/suggest")
+    public List<MedicineSuggestion> suggestMedicines(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        return searchIndex.search(prefix, limit != null ? limit : MedicineSearchIndex.DEFAULT_LIMIT);
+    }
+
 
 
 }
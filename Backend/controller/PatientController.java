@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.PatientSummaryDTO;
 import com.example.demo.dto.VisitDTO;
 import com.example.demo.model.Doctor;
 import com.example.demo.model.Patient;
@@ -7,12 +8,15 @@ import com.example.demo.model.Role;
 import com.example.demo.model.Visit;
 import com.example.demo.service.DoctorService;
 import com.example.demo.service.PatientService;
+import com.example.demo.util.JsonStreamWriter;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +29,11 @@ public class PatientController {
     @Autowired
     private PatientService patientService;
 
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+
+    private static final int MAX_PAGE_SIZE = 200;
+
     @GetMapping("/{id}")
     public ResponseEntity<?> getPatientById(@PathVariable Long id) {
         return patientService.getPatientById(id).map(patient ->
@@ -35,7 +44,7 @@ public class PatientController {
 
     @GetMapping("/assigned")
     public ResponseEntity<?> getPatientsForDoctor(@RequestParam Long doctorId) {
-        List<Patient> patients = patientService.getPatientsByDoctorId(doctorId);
+        List<PatientSummaryDTO> patients = patientService.getPatientSummariesByDoctorId(doctorId);
         if (patients.isEmpty()) {
             return ResponseEntity.status(404).body("No patients found for this doctor.");
         }
@@ -111,9 +120,33 @@ public class PatientController {
 
 
 
+    // Cursor-paginated, server-side filtered patient list, streamed as {"items": [...], "nextCursor": "..."}
+    @GetMapping("/page")
+    public ResponseEntity<StreamingResponseBody> getPatientPage(
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String phone,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String bloodType,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        if (!"id".equals(sort) && !"name".equals(sort)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        String[] after = patientService.decodeCursor(cursor); // rejects a bad cursor before streaming starts
+        StreamingResponseBody body = jsonStreamWriter.page(
+                () -> patientService.streamPatientPage(doctorId, name, phone, minAge, maxAge, bloodType, sort, after, pageSize),
+                pageSize, patientService::pageCursor);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/getAllPatients")
-    public List<Patient> getAllPatients() {
-        return patientService.getAllPatients();
+    public ResponseEntity<StreamingResponseBody> getAllPatients() {
+        StreamingResponseBody body = jsonStreamWriter.array(patientService::streamAllPatientSummaries);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @DeleteMapping("/{id}/delete")
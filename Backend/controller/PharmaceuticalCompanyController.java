@@ -6,11 +6,14 @@ import com.example.demo.dto.PharmaceuticalCompanyRegistrationRequest;
 import com.example.demo.model.PharmaceuticalCompany;
 import com.example.demo.model.User;
 import com.example.demo.service.PharmaceuticalCompanyService;
+import com.example.demo.util.JsonStreamWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import com.example.demo.dto.AdminRegisterRequest;
 import com.example.demo.dto.LoginRequest;
 import com.example.demo.model.Doctor;
@@ -41,6 +44,8 @@ public class PharmaceuticalCompanyController {
     private UserRepository userRepository;
     @Autowired
     private PharmaceuticalCompanyRepository companyRepository;
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
 
     @PostMapping("/register")
     public ResponseEntity<String> register(@RequestBody PharmaceuticalCompanyRegistrationRequest request) {
@@ -57,9 +62,9 @@ public class PharmaceuticalCompanyController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<PharmaceuticalCompany>> getAllCompanies() {
-        List<PharmaceuticalCompany> companies = companyService.getAllCompanies();
-        return ResponseEntity.ok(companies);
+    public ResponseEntity<StreamingResponseBody> getAllCompanies() {
+        StreamingResponseBody body = jsonStreamWriter.array(companyService::streamAllCompanies);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @DeleteMapping("/delete/{id}")
@@ -0,0 +1,61 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.MedicationRequest;
+import com.example.demo.service.MedicationPredictionService;
+import com.example.demo.service.MedicationRecommender;
+import com.example.demo.service.MlGateway;
+import com.example.demo.service.TreatmentRecommendationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/recommendations")
+public class RecommendationController {
+
+    @Autowired
+    private MedicationRecommender medicationRecommender;
+
+    @Autowired
+    private MedicationPredictionService medicationPredictionService;
+
+    @Autowired
+    private TreatmentRecommendationService treatmentRecommendationService;
+
+    @Autowired
+    private MlGateway mlGateway;
+
+    // Same request and response as the ML service's /predict; answered from the prediction cache,
+    // the in-process model when one has been exported, or else the ML service
+    @PostMapping("/predict")
+    public ResponseEntity<?> predictMedication(@RequestBody MedicationRequest request) {
+        return medicationPredictionService.predict(request);
+    }
+
+    // Prediction, ingredient description and interactions with the patient's recent prescriptions in one answer
+    @PostMapping("/treatment")
+    public ResponseEntity<?> recommendTreatment(@RequestBody MedicationRequest request,
+                                                @RequestParam(required = false) Long patientId) {
+        return treatmentRecommendationService.recommend(request, patientId);
+    }
+
+    // Forwarded to the ML service's /predictImprovement
+    @PostMapping("/improvement")
+    public ResponseEntity<String> predictImprovement(@RequestBody Map<String, Object> data) {
+        return mlGateway.predictImprovement(data);
+    }
+
+    // Whether a model is loaded, and which one
+    @GetMapping("/model")
+    public Map<String, Object> getModelStatus() {
+        return medicationRecommender.getStatus();
+    }
+
+    // Circuit breaker state, bulkhead usage and timeouts of the ML service client
+    @GetMapping("/gateway")
+    public Map<String, Object> getGatewayStats() {
+        return mlGateway.getStats();
+    }
+}
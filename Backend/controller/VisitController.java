@@ -6,11 +6,16 @@ import com.example.demo.model.Visit;
 import com.example.demo.service.VisitService;
 import com.example.demo.service.PatientService;
 import com.example.demo.service.DoctorService;
+import com.example.demo.util.JsonStreamWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -28,6 +33,11 @@ public class VisitController {
     @Autowired
     private DoctorService doctorService;
 
+    @Autowired
+    private JsonStreamWriter jsonStreamWriter;
+
+    private static final int MAX_PAGE_SIZE = 200;
+
     // POST: Create a new visit
     @PostMapping("/add")
     public ResponseEntity<?> addVisit(@RequestBody VisitDTO visitDTO) {
@@ -35,7 +45,7 @@ public class VisitController {
             Visit visit = new Visit();
             visit.setPatient(patientService.getPatientById(visitDTO.getPatientId()).orElseThrow(() -> new Exception("Patient not found")));
             visit.setDoctor(doctorService.getDoctorById(visitDTO.getDoctorId()).orElseThrow(() -> new Exception("Doctor not found")));
-            visit.setVisitDate(new SimpleDateFormat("yyyy-MM-dd").parse(visitDTO.getVisitDate())); // Parse visit date from string
+            visit.setVisitDate(LocalDate.parse(visitDTO.getVisitDate())); // Parse visit date from yyyy-MM-dd string
 
             // Set additional fields
             visit.setDiagnosis(visitDTO.getDiagnosis());
@@ -78,6 +88,42 @@ public class VisitController {
         }
     }
 
+    // GET: Visit timeline for a patient, oldest first, streamed as {"items": [...], "nextCursor": "..."}
+    @GetMapping("/{patientId}/timeline")
+    public ResponseEntity<StreamingResponseBody> getVisitTimeline(
+            @PathVariable Long patientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Object[] after = visitService.decodeTimelineCursor(cursor); // rejects a bad cursor before streaming starts
+        StreamingResponseBody body = jsonStreamWriter.page(
+                () -> visitService.streamTimeline(patientId, after, pageSize),
+                pageSize, visitService::timelineCursor);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // GET: A doctor's visits between two dates (inclusive), streamed oldest first
+    @GetMapping("/doctor/{doctorId}/range")
+    public ResponseEntity<StreamingResponseBody> getDoctorVisitsBetween(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        visitService.checkRange(from, to);
+        StreamingResponseBody body = jsonStreamWriter.array(() -> visitService.streamDoctorVisits(doctorId, from, to));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // GET: Visits with a diagnosis in a month (yyyy-MM, defaults to the current month), streamed oldest first
+    @GetMapping("/diagnosis")
+    public ResponseEntity<StreamingResponseBody> getDiagnosisVisitsInMonth(
+            @RequestParam String diagnosis,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        YearMonth period = month != null ? month : YearMonth.now();
+        StreamingResponseBody body = jsonStreamWriter.array(
+                () -> visitService.streamDiagnosisVisits(diagnosis, period.atDay(1), period.atEndOfMonth()));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     // PUT: Edit (Update) an existing visit
     @PutMapping("/{visitId}/update")
     public ResponseEntity<?> updateVisit(@PathVariable Long visitId, @RequestBody VisitDTO visitDTO) {
@@ -95,7 +141,7 @@ public class VisitController {
                 visit.setPatient(patientService.getPatientById(visitDTO.getPatientId()).orElseThrow(() -> new Exception("Patient not found")));
             }
             if (visitDTO.getVisitDate() != null) {
-                visit.setVisitDate(new SimpleDateFormat("yyyy-MM-dd").parse(visitDTO.getVisitDate()));
+                visit.setVisitDate(LocalDate.parse(visitDTO.getVisitDate()));
             }
 
             // Update new fields
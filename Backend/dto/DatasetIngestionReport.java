@@ -0,0 +1,121 @@
+package com.example.demo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Outcome of a company dataset upload: inserted rows, duplicates by owner and malformed rows
+public class DatasetIngestionReport {
+    // Names/rows listed per category; counts stay exact so the report is bounded for any file size
+    public static final int MAX_LISTED = 1000;
+
+    // Counters are written by one ingesting thread and may be polled from others while a job runs
+    private volatile int rowsRead;
+    private volatile int insertedCount;
+    private volatile int yourCompanyCount;
+    private volatile int appOwnedCount;
+    private volatile int otherCompanyCount;
+    private volatile int malformedCount;
+
+    private final List<String> yourCompanyNames = new ArrayList<>();  // already owned by the uploading company
+    private final List<String> appOwnedNames = new ArrayList<>();     // already in the app dataset (no company)
+    private final List<String> otherCompanyNames = new ArrayList<>(); // already owned by another company
+    private final List<String> malformedRows = new ArrayList<>();     // "line N (reason)"
+
+    public void addRowRead() {
+        rowsRead++;
+    }
+
+    public void addInserted(int count) {
+        insertedCount += count;
+    }
+
+    public void addYourCompanyDuplicate(String name) {
+        yourCompanyCount++;
+        addListed(yourCompanyNames, name);
+    }
+
+    public void addAppOwnedDuplicate(String name) {
+        appOwnedCount++;
+        addListed(appOwnedNames, name);
+    }
+
+    public void addOtherCompanyDuplicate(String name) {
+        otherCompanyCount++;
+        addListed(otherCompanyNames, name);
+    }
+
+    public void addMalformedRow(long lineNumber, String reason) {
+        malformedCount++;
+        addListed(malformedRows, "line " + lineNumber + " (" + reason + ")");
+    }
+
+    private static void addListed(List<String> list, String value) {
+        if (list.size() < MAX_LISTED) {
+            list.add(value);
+        }
+    }
+
+    // Same wording the upload endpoint has always returned, plus any skipped rows
+    public String toMessage() {
+        StringBuilder result = new StringBuilder(insertedCount + " medicines added successfully.");
+        appendCategory(result, yourCompanyCount, " medicines already exist and are owned by your company: ", yourCompanyNames);
+        appendCategory(result, appOwnedCount, " medicines already exist in the app (no company): ", appOwnedNames);
+        appendCategory(result, otherCompanyCount, " medicines already exist under another company: ", otherCompanyNames);
+        appendCategory(result, malformedCount, " rows were skipped as malformed: ", malformedRows);
+        return result.toString();
+    }
+
+    private static void appendCategory(StringBuilder result, int count, String label, List<String> listed) {
+        if (count == 0) return;
+        result.append(" ").append(count).append(label).append(String.join(", ", listed));
+        if (count > listed.size()) {
+            result.append(" and ").append(count - listed.size()).append(" more");
+        }
+        result.append(".");
+    }
+
+    // Getters
+    public int getRowsRead() {
+        return rowsRead;
+    }
+
+    public int getDuplicateCount() {
+        return yourCompanyCount + appOwnedCount + otherCompanyCount;
+    }
+
+    public int getInsertedCount() {
+        return insertedCount;
+    }
+
+    public int getYourCompanyCount() {
+        return yourCompanyCount;
+    }
+
+    public int getAppOwnedCount() {
+        return appOwnedCount;
+    }
+
+    public int getOtherCompanyCount() {
+        return otherCompanyCount;
+    }
+
+    public int getMalformedCount() {
+        return malformedCount;
+    }
+
+    public List<String> getYourCompanyNames() {
+        return yourCompanyNames;
+    }
+
+    public List<String> getAppOwnedNames() {
+        return appOwnedNames;
+    }
+
+    public List<String> getOtherCompanyNames() {
+        return otherCompanyNames;
+    }
+
+    public List<String> getMalformedRows() {
+        return malformedRows;
+    }
+}
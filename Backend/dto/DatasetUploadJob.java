@@ -0,0 +1,96 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+// Status of a background dataset upload, returned when polling /upload-dataset/jobs/{jobId}
+public class DatasetUploadJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String jobId;
+    private final Long companyId;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final DatasetIngestionReport report = new DatasetIngestionReport();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile String message; // final report text once COMPLETED
+    private volatile String error;   // failure reason once FAILED
+    private volatile LocalDateTime finishedAt;
+
+    public DatasetUploadJob(String jobId, Long companyId) {
+        this.jobId = jobId;
+        this.companyId = companyId;
+    }
+
+    public void markRunning() {
+        status = Status.RUNNING;
+    }
+
+    public void markCompleted() {
+        message = report.toMessage();
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    public void markFailed(String error) {
+        this.error = error;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    // Getters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getRowsRead() {
+        return report.getRowsRead();
+    }
+
+    public int getInsertedCount() {
+        return report.getInsertedCount();
+    }
+
+    public int getDuplicateCount() {
+        return report.getDuplicateCount();
+    }
+
+    public int getMalformedCount() {
+        return report.getMalformedCount();
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    @JsonIgnore
+    public DatasetIngestionReport getReport() {
+        return report;
+    }
+}
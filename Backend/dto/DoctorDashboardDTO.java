@@ -0,0 +1,79 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// Doctor dashboard figures, read from the in-memory aggregates kept by DoctorDashboardService
+public class DoctorDashboardDTO {
+    private Long doctorId;
+    private int patientCount;
+    private long visitCount;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate lastVisitDate;
+    private int visitsThisWeek;
+    private Map<String, Integer> visitsPerWeek; // Monday of each week (yyyy-MM-dd) -> visits, oldest first
+
+    public DoctorDashboardDTO(Long doctorId, int patientCount, long visitCount, LocalDate lastVisitDate,
+                              int visitsThisWeek, Map<String, Integer> visitsPerWeek) {
+        this.doctorId = doctorId;
+        this.patientCount = patientCount;
+        this.visitCount = visitCount;
+        this.lastVisitDate = lastVisitDate;
+        this.visitsThisWeek = visitsThisWeek;
+        this.visitsPerWeek = visitsPerWeek;
+    }
+
+    // No-argument constructor required for Jackson deserialization
+    public DoctorDashboardDTO() {}
+
+    // Getters and Setters
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public int getPatientCount() {
+        return patientCount;
+    }
+
+    public void setPatientCount(int patientCount) {
+        this.patientCount = patientCount;
+    }
+
+    public long getVisitCount() {
+        return visitCount;
+    }
+
+    public void setVisitCount(long visitCount) {
+        this.visitCount = visitCount;
+    }
+
+    public LocalDate getLastVisitDate() {
+        return lastVisitDate;
+    }
+
+    public void setLastVisitDate(LocalDate lastVisitDate) {
+        this.lastVisitDate = lastVisitDate;
+    }
+
+    public int getVisitsThisWeek() {
+        return visitsThisWeek;
+    }
+
+    public void setVisitsThisWeek(int visitsThisWeek) {
+        this.visitsThisWeek = visitsThisWeek;
+    }
+
+    public Map<String, Integer> getVisitsPerWeek() {
+        return visitsPerWeek;
+    }
+
+    public void setVisitsPerWeek(Map<String, Integer> visitsPerWeek) {
+        this.visitsPerWeek = visitsPerWeek;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+
+// One patient of a panel risk report: the features taken from the patient and their latest visit,
+// and the improvement prediction (or why the patient could not be scored)
+public class ImprovementRiskDTO {
+    private Long patientId;
+    private String patientName;
+    private Integer age;
+    private String gender;
+    private String diagnosis;
+    private String medicine;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate lastVisitDate;
+    private String prediction;
+    private Double improvementProbability;
+    private String error;
+
+    public ImprovementRiskDTO(Long patientId, String patientName, Integer age, String gender,
+                              String diagnosis, String medicine, LocalDate lastVisitDate) {
+        this.patientId = patientId;
+        this.patientName = patientName;
+        this.age = age;
+        this.gender = gender;
+        this.diagnosis = diagnosis;
+        this.medicine = medicine;
+        this.lastVisitDate = lastVisitDate;
+    }
+
+    // No-argument constructor required for Jackson deserialization
+    public ImprovementRiskDTO() {}
+
+    // Getters and Setters
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public String getPatientName() {
+        return patientName;
+    }
+
+    public void setPatientName(String patientName) {
+        this.patientName = patientName;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+
+    public String getDiagnosis() {
+        return diagnosis;
+    }
+
+    public void setDiagnosis(String diagnosis) {
+        this.diagnosis = diagnosis;
+    }
+
+    public String getMedicine() {
+        return medicine;
+    }
+
+    public void setMedicine(String medicine) {
+        this.medicine = medicine;
+    }
+
+    public LocalDate getLastVisitDate() {
+        return lastVisitDate;
+    }
+
+    public void setLastVisitDate(LocalDate lastVisitDate) {
+        this.lastVisitDate = lastVisitDate;
+    }
+
+    public String getPrediction() {
+        return prediction;
+    }
+
+    public void setPrediction(String prediction) {
+        this.prediction = prediction;
+    }
+
+    public Double getImprovementProbability() {
+        return improvementProbability;
+    }
+
+    public void setImprovementProbability(Double improvementProbability) {
+        this.improvementProbability = improvementProbability;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
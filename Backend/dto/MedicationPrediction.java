@@ -0,0 +1,35 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Recommended medicine and the version of the model that produced it; same JSON as the ML service's /predict
+public class MedicationPrediction {
+    private String medicine;
+    @JsonProperty("model_version")
+    private String modelVersion;
+
+    public MedicationPrediction(String medicine, String modelVersion) {
+        this.medicine = medicine;
+        this.modelVersion = modelVersion;
+    }
+
+    // No-argument constructor required for Jackson deserialization
+    public MedicationPrediction() {}
+
+    // Getters and Setters
+    public String getMedicine() {
+        return medicine;
+    }
+
+    public void setMedicine(String medicine) {
+        this.medicine = medicine;
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Patient features scored by the medication recommender; field names match the ML service's /predict body
+public class MedicationRequest {
+    private Integer age;
+    private String gender;
+    private String diagnosis;
+    private String allergies;
+    @JsonProperty("chronic_conditions")
+    private String chronicConditions;
+
+    public MedicationRequest(Integer age, String gender, String diagnosis, String allergies, String chronicConditions) {
+        this.age = age;
+        this.gender = gender;
+        this.diagnosis = diagnosis;
+        this.allergies = allergies;
+        this.chronicConditions = chronicConditions;
+    }
+
+    // No-argument constructor required for Jackson deserialization
+    public MedicationRequest() {}
+
+    // Getters and Setters
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+
+    public String getDiagnosis() {
+        return diagnosis;
+    }
+
+    public void setDiagnosis(String diagnosis) {
+        this.diagnosis = diagnosis;
+    }
+
+    public String getAllergies() {
+        return allergies;
+    }
+
+    public void setAllergies(String allergies) {
+        this.allergies = allergies;
+    }
+
+    public String getChronicConditions() {
+        return chronicConditions;
+    }
+
+    public void setChronicConditions(String chronicConditions) {
+        this.chronicConditions = chronicConditions;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.dto;
+
+// Lightweight search hit for medicine autocomplete (no use/side-effect text)
+public class MedicineSuggestion {
+    private Long id;
+    private String name;
+    private Long companyId;     // null for medicines owned by the application dataset
+    private String companyName; // full name of the company's user account
+
+    public MedicineSuggestion(Long id, String name, Long companyId, String companyName) {
+        this.id = id;
+        this.name = name;
+        this.companyId = companyId;
+        this.companyName = companyName;
+    }
+
+    // No-argument constructor required for Jackson deserialization
+    public MedicineSuggestion() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(Long companyId) {
+        this.companyId = companyId;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public void setCompanyName(String companyName) {
+        this.companyName = companyName;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Status of a background panel risk report, returned when polling /api/dashboard/risk-reports/{jobId}
+public class PanelRiskJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    // The records hold no severity, smoking status or test results, so the model scores without
+    // them, and allergies and chronic conditions are taken as "None". Every probability in a report is
+    // an estimate from these partial features, which is stated in the response itself.
+    public static final List<String> MISSING_FEATURES = List.of("severity", "smoking",
+            "Blood_Pressure_Systolic_BP", "HbA1c", "LDL_Cholesterol", "BNP", "Endoscopy_Result", "TSH");
+    public static final Map<String, String> ASSUMED_FEATURES = Map.of("allergies", "None", "chronic_conditions", "None");
+    private static final String NOTE = "Improvement probabilities are estimated from age, gender, latest diagnosis and "
+            + "prescribed medicine only; use them to order follow-ups, not as a clinical assessment.";
+
+    // Lowest improvement probability first; patients that could not be scored last
+    private static final Comparator<ImprovementRiskDTO> BY_RISK = Comparator.comparing(
+            ImprovementRiskDTO::getImprovementProbability, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final String jobId;
+    private final Long doctorId;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile int totalPatients;
+    private volatile int scoredCount;
+    private volatile int unscoredCount;
+    private volatile List<ImprovementRiskDTO> results; // set once COMPLETED
+    private volatile String error;                     // failure reason once FAILED
+    private volatile LocalDateTime finishedAt;
+
+    public PanelRiskJob(String jobId, Long doctorId) {
+        this.jobId = jobId;
+        this.doctorId = doctorId;
+    }
+
+    public void markRunning(int totalPatients) {
+        this.totalPatients = totalPatients;
+        status = Status.RUNNING;
+    }
+
+    // Progress after each scored chunk
+    public void addProgress(int scored, int unscored) {
+        scoredCount += scored;
+        unscoredCount += unscored;
+    }
+
+    public void markCompleted(List<ImprovementRiskDTO> rows) {
+        rows.sort(BY_RISK);
+        results = List.copyOf(rows);
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    public void markFailed(String error) {
+        this.error = error;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    // Getters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getTotalPatients() {
+        return totalPatients;
+    }
+
+    public int getScoredCount() {
+        return scoredCount;
+    }
+
+    public int getUnscoredCount() {
+        return unscoredCount;
+    }
+
+    public List<ImprovementRiskDTO> getResults() {
+        return results;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public List<String> getMissingFeatures() {
+        return MISSING_FEATURES;
+    }
+
+    public Map<String, String> getAssumedFeatures() {
+        return ASSUMED_FEATURES;
+    }
+
+    public String getNote() {
+        return NOTE;
+    }
+}
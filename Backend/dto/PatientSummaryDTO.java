@@ -0,0 +1,103 @@
+package com.example.demo.dto;
+
+// Patient listing row, read with a single constructor-projection query (no doctor entity loads)
+public class PatientSummaryDTO {
+    private Long id;
+    private String name;
+    private String bloodType;
+    private String gender;
+    private Integer age;
+    private String phoneNumber;
+    private String history;
+    private Long doctorId;      // Only store the ID of the assigned doctor
+    private String doctorName;  // and their display name
+
+    public PatientSummaryDTO(Long id, String name, String bloodType, String gender, Integer age,
+                             String phoneNumber, String history, Long doctorId, String doctorName) {
+        this.id = id;
+        this.name = name;
+        this.bloodType = bloodType;
+        this.gender = gender;
+        this.age = age;
+        this.phoneNumber = phoneNumber;
+        this.history = history;
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+    }
+
+    // No-argument constructor required for Jackson deserialization
+    public PatientSummaryDTO() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getBloodType() {
+        return bloodType;
+    }
+
+    public void setBloodType(String bloodType) {
+        this.bloodType = bloodType;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public void setGender(String gender) {
+        this.gender = gender;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getHistory() {
+        return history;
+    }
+
+    public void setHistory(String history) {
+        this.history = history;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public void setDoctorName(String doctorName) {
+        this.doctorName = doctorName;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.DrugInteraction;
+
+import java.util.List;
+
+// Recommended medicine with its description and its known interactions with the patient's current medicines
+public class TreatmentRecommendationDTO {
+    private String medicine;
+    private String modelVersion;
+    private String description;
+    private List<String> currentMedicines;
+    private List<DrugInteraction> interactions;
+
+    public TreatmentRecommendationDTO(String medicine, String modelVersion, String description,
+                                      List<String> currentMedicines, List<DrugInteraction> interactions) {
+        this.medicine = medicine;
+        this.modelVersion = modelVersion;
+        this.description = description;
+        this.currentMedicines = currentMedicines;
+        this.interactions = interactions;
+    }
+
+    // No-argument constructor required for Jackson deserialization
+    public TreatmentRecommendationDTO() {}
+
+    // Getters and Setters
+    public String getMedicine() {
+        return medicine;
+    }
+
+    public void setMedicine(String medicine) {
+        this.medicine = medicine;
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public List<String> getCurrentMedicines() {
+        return currentMedicines;
+    }
+
+    public void setCurrentMedicines(List<String> currentMedicines) {
+        this.currentMedicines = currentMedicines;
+    }
+
+    public List<DrugInteraction> getInteractions() {
+        return interactions;
+    }
+
+    public void setInteractions(List<DrugInteraction> interactions) {
+        this.interactions = interactions;
+    }
+}
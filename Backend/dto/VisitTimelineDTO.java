@@ -0,0 +1,98 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+
+// Visit row for the patient timeline, built directly by a JPQL constructor projection
+public class VisitTimelineDTO {
+    private Long id;
+    private Long patientId;
+    private Long doctorId;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate visitDate;
+    private String diagnosis;
+    private String symptoms;
+    private String prescribedMedicine;
+    private String treatmentEffect;
+
+    public VisitTimelineDTO(Long id, Long patientId, Long doctorId, LocalDate visitDate, String diagnosis,
+                            String symptoms, String prescribedMedicine, String treatmentEffect) {
+        this.id = id;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.visitDate = visitDate;
+        this.diagnosis = diagnosis;
+        this.symptoms = symptoms;
+        this.prescribedMedicine = prescribedMedicine;
+        this.treatmentEffect = treatmentEffect;
+    }
+
+    // No-argument constructor required for Jackson deserialization
+    public VisitTimelineDTO() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public LocalDate getVisitDate() {
+        return visitDate;
+    }
+
+    public void setVisitDate(LocalDate visitDate) {
+        this.visitDate = visitDate;
+    }
+
+    public String getDiagnosis() {
+        return diagnosis;
+    }
+
+    public void setDiagnosis(String diagnosis) {
+        this.diagnosis = diagnosis;
+    }
+
+    public String getSymptoms() {
+        return symptoms;
+    }
+
+    public void setSymptoms(String symptoms) {
+        this.symptoms = symptoms;
+    }
+
+    public String getPrescribedMedicine() {
+        return prescribedMedicine;
+    }
+
+    public void setPrescribedMedicine(String prescribedMedicine) {
+        this.prescribedMedicine = prescribedMedicine;
+    }
+
+    public String getTreatmentEffect() {
+        return treatmentEffect;
+    }
+
+    public void setTreatmentEffect(String treatmentEffect) {
+        this.treatmentEffect = treatmentEffect;
+    }
+}
@@ -8,6 +8,13 @@ import jakarta.persistence.GenerationType;
 import java.time.LocalDateTime;
 
 @jakarta.persistence.Entity
+@Table(name = "action_log", indexes = {
+        // Keyset paging walks id descending within each filter
+        @Index(name = "idx_action_log_username_id", columnList = "username, id"),
+        @Index(name = "idx_action_log_user_id_id", columnList = "user_id, id"),
+        @Index(name = "idx_action_log_action_id", columnList = "action, id"),
+        @Index(name = "idx_action_log_timestamp", columnList = "timestamp")
+})
 public class ActionLog {
 
     @jakarta.persistence.Id
@@ -17,6 +24,7 @@ public class ActionLog {
     private String action;  // Action description (e.g., "User created", "Password changed")
     private String details; // Additional details if needed (e.g., user ID or other data)
     private String username; // User who performed the action
+    @Column(name = "user_id")
     private Long userId;    // User ID of the user who performed the action
     private LocalDateTime timestamp;  // When the action was performed
 
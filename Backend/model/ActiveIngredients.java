@@ -1,8 +1,13 @@
 package com.example.demo.model;
 
+import com.example.demo.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ACTIVE_INGREDIENT_REGION)
 public class ActiveIngredients {
 
     @Id
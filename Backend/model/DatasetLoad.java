@@ -0,0 +1,54 @@
+package com.example.demo.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Marks a bundled dataset as fully loaded; written only after the last row is in
+@Entity
+@Table(name = "dataset_loads")
+public class DatasetLoad {
+
+    @Id
+    private String name;
+
+    @Column(name = "rows_loaded")
+    private long rowsLoaded;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public DatasetLoad(String name, long rowsLoaded, LocalDateTime completedAt) {
+        this.name = name;
+        this.rowsLoaded = rowsLoaded;
+        this.completedAt = completedAt;
+    }
+
+    public DatasetLoad() {
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getRowsLoaded() {
+        return rowsLoaded;
+    }
+
+    public void setRowsLoaded(long rowsLoaded) {
+        this.rowsLoaded = rowsLoaded;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.demo.model;
 
+import com.example.demo.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "drug_interactions", uniqueConstraints = @UniqueConstraint(columnNames = {"drug1", "drug2"}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.DRUG_INTERACTION_REGION)
 public class DrugInteraction {
 
     @Id
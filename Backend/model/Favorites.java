@@ -3,14 +3,17 @@ package com.example.demo.model;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "favorite_companies")
+@Table(name = "favorite_companies",
+        uniqueConstraints = @UniqueConstraint(name = "uk_favorite_doctor_company", columnNames = {"doctor_id", "company_id"}))
 public class Favorites {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "company_id")
     private Long companyId;
+    @Column(name = "doctor_id")
     private Long doctorId;
 
     public Favorites() {}
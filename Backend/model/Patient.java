@@ -11,7 +11,14 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.validation.constraints.Pattern;
 
 @Entity
-@Table(name = "patients")
+@Table(name = "patients", indexes = {
+        // Keyset paging: (filter, sort key, id) so each page is an index range scan
+        @Index(name = "idx_patients_doctor_id", columnList = "doctor_id, id"),
+        @Index(name = "idx_patients_doctor_name", columnList = "doctor_id, name, id"),
+        @Index(name = "idx_patients_name", columnList = "name, id"),
+        @Index(name = "idx_patients_blood_type", columnList = "blood_type"),
+        @Index(name = "idx_patients_age", columnList = "age")
+})
 public class Patient {
 
     @Id
@@ -20,6 +27,7 @@ public class Patient {
 
     private String name;
 
+    @Column(name = "blood_type")
     private String bloodType;
     private String gender;
     private Integer age;
@@ -1,9 +1,14 @@
 package com.example.demo.model;
 
+import com.example.demo.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "pharmaceutical_companies")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.COMPANY_REGION)
 
 public class PharmaceuticalCompany {
 
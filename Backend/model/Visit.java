@@ -3,11 +3,17 @@ package com.example.demo.model;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
-import java.util.Date;
+import java.time.LocalDate;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 @Entity
-@Table(name = "visits")
+@Table(name = "visits", indexes = {
+        // Patient timeline: one range scan in (visit_date, id) order
+        @Index(name = "idx_visits_patient_date", columnList = "patient_id, visit_date, id"),
+        // Doctor and diagnosis reports: date-range scans within one doctor / one diagnosis
+        @Index(name = "idx_visits_doctor_date", columnList = "doctor_id, visit_date, id"),
+        @Index(name = "idx_visits_diagnosis_date", columnList = "diagnosis, visit_date, id")
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Visit {
 
@@ -23,11 +29,12 @@ public class Visit {
     @JoinColumn(name = "doctor_id") // Adding the doctor relationship
     private Doctor doctor; // Each visit is also linked to a doctor
 
-    @Temporal(TemporalType.DATE)
     @JsonFormat(pattern = "yyyy-MM-dd")
-    private Date visitDate; // Only the visit date
+    @Column(name = "visit_date")
+    private LocalDate visitDate; // Only the visit date
 
     // Constructors, Getters, and Setters
+    @Column(name = "diagnosis")
     private String diagnosis;
     public String getDiagnosis() { return diagnosis; }
     public void setDiagnosis(String diagnosis) { this.diagnosis = diagnosis; }
@@ -56,7 +63,7 @@ public class Visit {
     }
     public Visit() {}
 
-    public Visit(Patient patient, Doctor doctor, Date visitDate ,String diagnosis , String symptoms) {
+    public Visit(Patient patient, Doctor doctor, LocalDate visitDate ,String diagnosis , String symptoms) {
         this.patient = patient;
         this.doctor = doctor;
         this.visitDate = visitDate;
@@ -88,11 +95,11 @@ public class Visit {
         this.doctor = doctor;
     }
 
-    public Date getVisitDate() {
+    public LocalDate getVisitDate() {
         return visitDate;
     }
 
-    public void setVisitDate(Date visitDate) {
+    public void setVisitDate(LocalDate visitDate) {
         this.visitDate = visitDate;
     }
 }
@@ -1,10 +1,32 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.ActionLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ActionLogRepository extends JpaRepository<ActionLog, Long> {
     List<ActionLog> findByUsername(String username);
+
+    // Keyset page, newest first: pass the last id of the previous page as beforeId; null filters are ignored
+    @Query("SELECT a FROM ActionLog a WHERE " +
+            "(:username IS NULL OR a.username = :username) AND " +
+            "(:userId IS NULL OR a.userId = :userId) AND " +
+            "(:action IS NULL OR a.action = :action) AND " +
+            "(:from IS NULL OR a.timestamp >= :from) AND " +
+            "(:to IS NULL OR a.timestamp < :to) AND " +
+            "(:beforeId IS NULL OR a.id < :beforeId) " +
+            "ORDER BY a.id DESC")
+    Stream<ActionLog> streamPage(@Param("username") String username,
+                                 @Param("userId") Long userId,
+                                 @Param("action") String action,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to,
+                                 @Param("beforeId") Long beforeId,
+                                 Pageable pageable);
 }
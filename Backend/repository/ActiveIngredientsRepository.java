@@ -1,11 +1,21 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.ActiveIngredients;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface ActiveIngredientsRepository extends JpaRepository<ActiveIngredients, Long> {
     Optional<ActiveIngredients> findByActiveIngredientIgnoreCase(String activeIngredient);
 
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = StreamingQueryHints.FETCH_SIZE))
+    @Query("SELECT a FROM ActiveIngredients a ORDER BY a.id")
+    Stream<ActiveIngredients> streamAll();
+
 }
\ No newline at end of file
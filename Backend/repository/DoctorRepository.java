@@ -2,10 +2,17 @@ package com.example.demo.repository;
 
 import com.example.demo.model.Doctor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
 
     // Query the contactInfo from the associated User entity
     Optional<Doctor> findByUserContactInfo(String contactInfo);
+
+    // The user is fetched in the same select instead of one select per doctor
+    @Query("SELECT d FROM Doctor d JOIN FETCH d.user ORDER BY d.id")
+    List<Doctor> findAllWithUser();
 }
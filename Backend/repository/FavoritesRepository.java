@@ -2,7 +2,14 @@ package com.example.demo.repository;
 
 import com.example.demo.model.Favorites;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface FavoritesRepository extends JpaRepository<Favorites, Long> {
     Favorites findByDoctorIdAndCompanyId(Long doctorId, Long companyId);
+
+    @Query("SELECT f.companyId FROM Favorites f WHERE f.doctorId = :doctorId")
+    List<Long> findCompanyIdsByDoctorId(@Param("doctorId") Long doctorId);
 }
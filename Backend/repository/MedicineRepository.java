@@ -1,24 +1,54 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.MedicineSuggestion;
 import com.example.demo.model.Medicine;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface MedicineRepository extends JpaRepository<Medicine, Long> {
 
     List<Medicine> findByNameIgnoreCase(String name);
     Optional<Medicine> findByName(String name);
     List<Medicine> findAllByCompany_Id(Long companyId);
+    boolean existsByCompany_Id(Long companyId);
+    // Rows without a company come from the bundled dataset
+    long countByCompanyIsNull();
+
+    // company is @JsonIgnore, so writing these rows never touches another table
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = StreamingQueryHints.FETCH_SIZE))
+    @Query("SELECT m FROM Medicine m WHERE m.company.id = :companyId ORDER BY m.id")
+    Stream<Medicine> streamAllByCompanyId(@Param("companyId") Long companyId);
     Optional<Medicine> findByIdAndCompanyId(Long id, Long companyId);
     List<Medicine> findTop10ByNameStartingWithIgnoreCase(String name);
 
 
+    // /api/medicine/search: one query-cache entry per typed prefix
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     @Query("SELECT m FROM Medicine m WHERE LOWER(m.name) LIKE LOWER(CONCAT(:prefix, '%'))")
     List<Medicine> searchByNamePrefix(@Param("prefix") String prefix);
 
     boolean existsByNameIgnoreCaseAndCompany_IdNot(String name, Long companyId);
+
+    // Only the columns the autocomplete index needs, never the 1000-char text columns
+    @Query("SELECT new com.example.demo.dto.MedicineSuggestion(m.id, m.name, c.id, u.fullName) " +
+            "FROM Medicine m LEFT JOIN m.company c LEFT JOIN c.user u")
+    List<MedicineSuggestion> findAllSuggestions();
+
+    @Query("SELECT new com.example.demo.dto.MedicineSuggestion(m.id, m.name, c.id, u.fullName) " +
+            "FROM Medicine m JOIN m.company c LEFT JOIN c.user u WHERE c.id = :companyId")
+    List<MedicineSuggestion> findSuggestionsByCompanyId(@Param("companyId") Long companyId);
+
+    // [name, company id or null] for every medicine, used to classify dataset rows in memory
+    @Query("SELECT m.name, c.id FROM Medicine m LEFT JOIN m.company c")
+    List<Object[]> findAllNameOwners();
 }
@@ -1,11 +1,22 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.ImprovementRiskDTO;
+import com.example.demo.dto.PatientSummaryDTO;
 import com.example.demo.model.Patient;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
@@ -14,4 +25,86 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
     // Find a patient by phone number
     Optional<Patient> findByPhoneNumber(String phoneNumber);
 
+    // Entity read paths that fetch the doctor in the same select instead of one select per doctor
+    @EntityGraph(attributePaths = "doctor")
+    @Query("SELECT p FROM Patient p WHERE p.doctor.id = :doctorId")
+    List<Patient> findWithDoctorByDoctorId(@Param("doctorId") Long doctorId);
+
+    @EntityGraph(attributePaths = "doctor")
+    @Query("SELECT p FROM Patient p")
+    List<Patient> findAllWithDoctor();
+
+    // [patientId, doctorId] for every assigned patient, to seed the dashboard aggregates
+    @Query("SELECT p.id, p.doctor.id FROM Patient p WHERE p.doctor IS NOT NULL")
+    List<Object[]> findAllDoctorAssignments();
+
+    // A doctor's patients with their latest visit (by date, then id), for the panel risk report
+    @Query("SELECT new com.example.demo.dto.ImprovementRiskDTO(p.id, p.name, p.age, p.gender, v.diagnosis, " +
+            "v.prescribedMedicine, v.visitDate) FROM Patient p LEFT JOIN Visit v ON v.patient = p AND v.id = " +
+            "(SELECT MAX(v2.id) FROM Visit v2 WHERE v2.patient = p AND v2.visitDate = " +
+            "(SELECT MAX(v3.visitDate) FROM Visit v3 WHERE v3.patient = p)) " +
+            "WHERE p.doctor.id = :doctorId ORDER BY p.id")
+    List<ImprovementRiskDTO> findRiskRowsByDoctorId(@Param("doctorId") Long doctorId);
+
+    // Listing projections: one query, only the columns the patient lists show
+    @Query("SELECT new com.example.demo.dto.PatientSummaryDTO(p.id, p.name, p.bloodType, p.gender, p.age, " +
+            "p.phoneNumber, p.history, d.id, d.fullName) FROM Patient p JOIN p.doctor d " +
+            "WHERE d.id = :doctorId ORDER BY p.id")
+    List<PatientSummaryDTO> findSummariesByDoctorId(@Param("doctorId") Long doctorId);
+
+    @Query("SELECT new com.example.demo.dto.PatientSummaryDTO(p.id, p.name, p.bloodType, p.gender, p.age, " +
+            "p.phoneNumber, p.history, d.id, d.fullName) FROM Patient p LEFT JOIN p.doctor d ORDER BY p.id")
+    List<PatientSummaryDTO> findAllSummaries();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = StreamingQueryHints.FETCH_SIZE))
+    @Query("SELECT new com.example.demo.dto.PatientSummaryDTO(p.id, p.name, p.bloodType, p.gender, p.age, " +
+            "p.phoneNumber, p.history, d.id, d.fullName) FROM Patient p LEFT JOIN p.doctor d ORDER BY p.id")
+    Stream<PatientSummaryDTO> streamAllSummaries();
+
+    // Keyset pages for the patient list; null filters are ignored, name/phone are prefix matches
+    // with '!' escaping wildcards (see PatientService). Seek and sort columns are left bare so the
+    // (doctor_id, name, id) and (name, id) indexes give the order
+    String PAGE_SELECT = "SELECT new com.example.demo.dto.PatientSummaryDTO(p.id, p.name, p.bloodType, p.gender, p.age, " +
+            "p.phoneNumber, p.history, d.id, d.fullName) FROM Patient p LEFT JOIN p.doctor d WHERE " +
+            "(:doctorId IS NULL OR d.id = :doctorId) AND " +
+            "(:name IS NULL OR p.name LIKE CONCAT(:name, '%') ESCAPE '!') AND " +
+            "(:phone IS NULL OR p.phoneNumber LIKE CONCAT(:phone, '%') ESCAPE '!') AND " +
+            "(:minAge IS NULL OR p.age >= :minAge) AND " +
+            "(:maxAge IS NULL OR p.age <= :maxAge) AND " +
+            "(:bloodType IS NULL OR p.bloodType = :bloodType) AND ";
+
+    @Query(PAGE_SELECT + "(:afterId IS NULL OR p.id > :afterId) ORDER BY p.id")
+    Stream<PatientSummaryDTO> streamPageById(@Param("doctorId") Long doctorId,
+                                             @Param("name") String name,
+                                             @Param("phone") String phone,
+                                             @Param("minAge") Integer minAge,
+                                             @Param("maxAge") Integer maxAge,
+                                             @Param("bloodType") String bloodType,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    // Name order, part 1: patients without a name, which sort first, by id
+    @Query(PAGE_SELECT + "p.name IS NULL AND (:afterId IS NULL OR p.id > :afterId) ORDER BY p.id")
+    Stream<PatientSummaryDTO> streamPageWithoutName(@Param("doctorId") Long doctorId,
+                                                    @Param("name") String name,
+                                                    @Param("phone") String phone,
+                                                    @Param("minAge") Integer minAge,
+                                                    @Param("maxAge") Integer maxAge,
+                                                    @Param("bloodType") String bloodType,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    // Name order, part 2: named patients by name, then id
+    @Query(PAGE_SELECT + "p.name IS NOT NULL AND (:afterId IS NULL OR p.name > :afterName " +
+            "OR (p.name = :afterName AND p.id > :afterId)) ORDER BY p.name, p.id")
+    Stream<PatientSummaryDTO> streamPageByName(@Param("doctorId") Long doctorId,
+                                               @Param("name") String name,
+                                               @Param("phone") String phone,
+                                               @Param("minAge") Integer minAge,
+                                               @Param("maxAge") Integer maxAge,
+                                               @Param("bloodType") String bloodType,
+                                               @Param("afterName") String afterName,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
 }
@@ -3,12 +3,25 @@ package com.example.demo.repository;
 import com.example.demo.model.Doctor;
 import com.example.demo.model.PharmaceuticalCompany;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 @Repository
 public interface PharmaceuticalCompanyRepository extends JpaRepository<PharmaceuticalCompany, Long> {
     Optional<PharmaceuticalCompany> findByUser_Email(String email);
     Optional<Doctor> findByUserContactInfo(String contactInfo);
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<PharmaceuticalCompany> findPharmaceuticalCompanyById(Long id);
+
+    // The user is fetched in the same row, so streaming never needs a second query
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = StreamingQueryHints.FETCH_SIZE))
+    @Query("SELECT c FROM PharmaceuticalCompany c LEFT JOIN FETCH c.user ORDER BY c.id")
+    Stream<PharmaceuticalCompany> streamAllWithUser();
 }
\ No newline at end of file
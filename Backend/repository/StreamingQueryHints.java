@@ -0,0 +1,19 @@
+package com.example.demo.repository;
+
+/**
+ * Hint values shared by the unbounded Stream queries of the repositories.
+ */
+public final class StreamingQueryHints {
+
+    /**
+     * Rows fetched per round trip while a stream query is consumed. No database is pinned, so
+     * this is a plain positive size that every driver accepts; drivers with cursor fetching
+     * (e.g. PostgreSQL inside a transaction, MySQL with useCursorFetch=true) then hold one batch
+     * in memory at a time. Streamed rows should not trigger lazy loads (use projections or
+     * fetch joins), since the connection is busy until the stream is closed.
+     */
+    public static final String FETCH_SIZE = "500";
+
+    private StreamingQueryHints() {
+    }
+}
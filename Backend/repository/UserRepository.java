@@ -3,11 +3,17 @@ package com.example.demo.repository;
 import com.example.demo.model.Doctor;
 import com.example.demo.model.Role;
 import com.example.demo.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -15,4 +21,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findAllByRole(Role role);
     Optional<User> findByContactInfo(String contactInfo);
 
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = StreamingQueryHints.FETCH_SIZE))
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAll();
+
 }
@@ -1,12 +1,75 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.VisitTimelineDTO;
 import com.example.demo.model.Visit;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface VisitRepository extends JpaRepository<Visit, Long> {
     List<Visit> findByPatientId(Long patientId);
+
+    @Query("SELECT v.id FROM Visit v WHERE v.patient.id = :patientId")
+    List<Long> findIdsByPatientId(@Param("patientId") Long patientId);
+
+    // Prescribed medicines of a patient's most recent visits, newest first
+    @Query("SELECT v.prescribedMedicine FROM Visit v WHERE v.patient.id = :patientId " +
+            "AND v.prescribedMedicine IS NOT NULL ORDER BY v.visitDate DESC, v.id DESC")
+    List<String> findRecentPrescriptions(@Param("patientId") Long patientId, Pageable pageable);
+
+    // [visitId, doctorId, visitDate] for every visit with a doctor, to seed the dashboard aggregates
+    @Query("SELECT v.id, v.doctor.id, v.visitDate FROM Visit v WHERE v.doctor IS NOT NULL")
+    List<Object[]> findAllDashboardRows();
+
+    // Timeline, part 1: visits without a date, which come first, by id
+    @Query("SELECT new com.example.demo.dto.VisitTimelineDTO(v.id, v.patient.id, v.doctor.id, v.visitDate, " +
+            "v.diagnosis, v.symptoms, v.prescribedMedicine, v.treatmentEffect) FROM Visit v " +
+            "WHERE v.patient.id = :patientId AND v.visitDate IS NULL AND " +
+            "(:afterId IS NULL OR v.id > :afterId) ORDER BY v.id")
+    Stream<VisitTimelineDTO> streamUndatedTimeline(@Param("patientId") Long patientId,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    // Timeline, part 2: dated visits in (visitDate, id) order, read straight from idx_visits_patient_date;
+    // pass the last row's date and id to get the next page
+    @Query("SELECT new com.example.demo.dto.VisitTimelineDTO(v.id, v.patient.id, v.doctor.id, v.visitDate, " +
+            "v.diagnosis, v.symptoms, v.prescribedMedicine, v.treatmentEffect) FROM Visit v " +
+            "WHERE v.patient.id = :patientId AND v.visitDate IS NOT NULL AND " +
+            "(:afterId IS NULL OR v.visitDate > :afterDate OR (v.visitDate = :afterDate AND v.id > :afterId)) " +
+            "ORDER BY v.visitDate, v.id")
+    Stream<VisitTimelineDTO> streamTimeline(@Param("patientId") Long patientId,
+                                            @Param("afterDate") LocalDate afterDate,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    // A doctor's visits with from <= visitDate <= to, in (visitDate, id) order
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = StreamingQueryHints.FETCH_SIZE))
+    @Query("SELECT new com.example.demo.dto.VisitTimelineDTO(v.id, v.patient.id, v.doctor.id, v.visitDate, " +
+            "v.diagnosis, v.symptoms, v.prescribedMedicine, v.treatmentEffect) FROM Visit v " +
+            "WHERE v.doctor.id = :doctorId AND v.visitDate BETWEEN :from AND :to " +
+            "ORDER BY v.visitDate, v.id")
+    Stream<VisitTimelineDTO> streamByDoctorBetween(@Param("doctorId") Long doctorId,
+                                                   @Param("from") LocalDate from,
+                                                   @Param("to") LocalDate to);
+
+    // Visits with one diagnosis and from <= visitDate <= to, in (visitDate, id) order
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = StreamingQueryHints.FETCH_SIZE))
+    @Query("SELECT new com.example.demo.dto.VisitTimelineDTO(v.id, v.patient.id, v.doctor.id, v.visitDate, " +
+            "v.diagnosis, v.symptoms, v.prescribedMedicine, v.treatmentEffect) FROM Visit v " +
+            "WHERE v.diagnosis = :diagnosis AND v.visitDate BETWEEN :from AND :to " +
+            "ORDER BY v.visitDate, v.id")
+    Stream<VisitTimelineDTO> streamByDiagnosisBetween(@Param("diagnosis") String diagnosis,
+                                                      @Param("from") LocalDate from,
+                                                      @Param("to") LocalDate to);
 }
@@ -6,8 +6,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 import com.example.demo.repository.ActionLogRepository;
 import com.example.demo.model.ActionLog;
+import org.springframework.data.domain.PageRequest;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class ActionLogService {
@@ -15,6 +17,9 @@ public class ActionLogService {
     @Autowired
     private ActionLogRepository actionLogRepository;
 
+    @Autowired
+    private ActionLogWriter actionLogWriter;
+
     private static final Logger logger = LoggerFactory.getLogger(ActionLogService.class);
     public void logAction(String action, String details, String username, Long userId) {
         try {
@@ -26,8 +31,8 @@ public class ActionLogService {
             log.setUserId(userId); // Set the user ID
             log.setTimestamp(LocalDateTime.now());
 
-            // Save the entity - Hibernate will automatically assign the ID
-            actionLogRepository.save(log);
+            // Hand off to the background writer - the insert happens in a later batch
+            actionLogWriter.submit(log);
 
         } catch (Exception e) {
             // Handle any exceptions that may occur
@@ -46,6 +51,12 @@ public class ActionLogService {
         }
     }
 
+    // One keyset page of action logs; must be consumed inside a transaction
+    public Stream<ActionLog> streamActionLogPage(String username, Long userId, String action,
+                                                 LocalDateTime from, LocalDateTime to, Long cursor, int size) {
+        return actionLogRepository.streamPage(username, userId, action, from, to, cursor, PageRequest.of(0, size));
+    }
+
     // Retrieve action logs for a specific user
     public List<ActionLog> getActionLogsByUser(String username) {
         try {
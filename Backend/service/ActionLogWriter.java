@@ -0,0 +1,222 @@
+package com.example.demo.service;
+
+import com.example.demo.model.ActionLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit pipeline behind ActionLogService. Callers only enqueue; a background thread
+ * writes the queue to action_log in JDBC batches when a batch fills up or the flush
+ * interval passes. The queue is a lock-free linked queue bounded by an atomic counter.
+ * When it is full the configured policy applies: BLOCK waits for space, DROP_OLDEST
+ * discards the oldest pending entry, SPILL appends the entry to a local file.
+ * On shutdown the queue is drained before the database goes away.
+ */
+@Component
+public class ActionLogWriter {
+
+    public enum OverflowPolicy { BLOCK, DROP_OLDEST, SPILL }
+
+    private static final Logger logger = LoggerFactory.getLogger(ActionLogWriter.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO action_log (action, details, username, user_id, timestamp) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${medica.audit.queue-capacity:10000}")
+    private int capacity;
+
+    @Value("${medica.audit.batch-size:200}")
+    private int batchSize;
+
+    @Value("${medica.audit.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${medica.audit.overflow-policy:BLOCK}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${medica.audit.spill-file:action-log-spill.log}")
+    private String spillFile;
+
+    private final ConcurrentLinkedQueue<ActionLog> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running;
+    private Thread writer;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "action-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void submit(ActionLog log) {
+        if (!running) {
+            // Shutting down: nothing will drain the queue any more
+            write(List.of(log));
+            return;
+        }
+        if (tryOffer(log)) {
+            if (size.get() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK:
+                while (!tryOffer(log)) {
+                    LockSupport.unpark(writer);
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                    if (!running) {
+                        write(List.of(log));
+                        return;
+                    }
+                }
+                break;
+            case DROP_OLDEST:
+                while (!tryOffer(log)) {
+                    if (poll() != null && dropped.incrementAndGet() % 1000 == 1) {
+                        logger.warn("Action log queue full, {} entries dropped so far", dropped.get());
+                    }
+                }
+                break;
+            case SPILL:
+                spill(List.of(log));
+                break;
+        }
+    }
+
+    public int getPendingCount() {
+        return size.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private boolean tryOffer(ActionLog log) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            return false;
+        }
+        queue.offer(log);
+        return true;
+    }
+
+    private ActionLog poll() {
+        ActionLog log = queue.poll();
+        if (log != null) {
+            size.decrementAndGet();
+        }
+        return log;
+    }
+
+    private void runWriter() {
+        List<ActionLog> batch = new ArrayList<>(batchSize);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (true) {
+            ActionLog log = poll();
+            if (log != null) {
+                batch.add(log);
+                if (batch.size() >= batchSize) {
+                    write(batch);
+                    batch.clear();
+                    deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                }
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !running) {
+                if (!batch.isEmpty()) {
+                    write(batch);
+                    batch.clear();
+                }
+                if (!running && queue.isEmpty()) {
+                    return;
+                }
+                deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                continue;
+            }
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private void write(List<ActionLog> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, toRows(batch));
+        } catch (Exception e) {
+            logger.error("Error saving {} action logs, spilling to {}: {}", batch.size(), spillFile, e.getMessage());
+            spill(batch);
+        }
+    }
+
+    private static List<Object[]> toRows(List<ActionLog> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (ActionLog log : batch) {
+            rows.add(new Object[]{
+                    log.getAction(), log.getDetails(), log.getUsername(), log.getUserId(),
+                    log.getTimestamp() != null ? Timestamp.valueOf(log.getTimestamp()) : null
+            });
+        }
+        return rows;
+    }
+
+    // One tab-separated line per entry: timestamp, userId, username, action, details
+    private synchronized void spill(List<ActionLog> entries) {
+        try (BufferedWriter out = Files.newBufferedWriter(Paths.get(spillFile), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (ActionLog log : entries) {
+                out.write(log.getTimestamp() + "\t" + log.getUserId() + "\t" + clean(log.getUsername()) + "\t"
+                        + clean(log.getAction()) + "\t" + clean(log.getDetails()));
+                out.newLine();
+            }
+        } catch (IOException e) {
+            logger.error("Error spilling {} action logs to {}: {}", entries.size(), spillFile, e.getMessage());
+        }
+    }
+
+    private static String clean(String value) {
+        return value == null ? "" : value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        // Anything the writer could not reach in time is written here
+        List<ActionLog> rest = new ArrayList<>();
+        ActionLog log;
+        while ((log = poll()) != null) {
+            rest.add(log);
+        }
+        if (!rest.isEmpty()) {
+            write(rest);
+        }
+    }
+}
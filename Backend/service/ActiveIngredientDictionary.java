@@ -0,0 +1,55 @@
+package com.example.demo.service;
+
+import com.example.demo.model.ActiveIngredients;
+import com.example.demo.repository.ActiveIngredientsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable, case-folded ingredient name -> description map used by the description endpoint.
+ * It is built once the ingredients have been seeded, so description lookups never query the
+ * database; call reload() after changing the active_ingredients table.
+ */
+@Service
+public class ActiveIngredientDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiveIngredientDictionary.class);
+
+    @Autowired
+    private ActiveIngredientsRepository repository;
+
+    private volatile Map<String, String> descriptions = Map.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reload();
+    }
+
+    public void reload() {
+        Map<String, String> loaded = new HashMap<>();
+        for (ActiveIngredients ingredient : repository.findAll()) {
+            if (ingredient.getActiveIngredient() != null && ingredient.getDescription() != null) {
+                loaded.putIfAbsent(fold(ingredient.getActiveIngredient()), ingredient.getDescription());
+            }
+        }
+        descriptions = Map.copyOf(loaded);
+        logger.info("Active ingredient dictionary loaded with {} entries", loaded.size());
+    }
+
+    public Optional<String> getDescription(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(descriptions.get(fold(name)));
+    }
+
+    private static String fold(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DatasetUploadJob;
+import com.example.demo.repository.PharmaceuticalCompanyRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs company dataset uploads in the background. The file is spooled to a temp file,
+ * processed on a small bounded pool, and its progress polled by job id. Each company
+ * may only have a limited number of uploads queued or running at once; synchronous
+ * uploads (processNow) take a slot too, so they cannot run beside the company's jobs.
+ */
+@Service
+public class DatasetUploadJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetUploadJobService.class);
+
+    // Finished jobs stay pollable for this long
+    private static final long RETENTION_MINUTES = 60;
+
+    @Autowired
+    private MedicineService medicineService;
+
+    @Autowired
+    private PharmaceuticalCompanyRepository companyRepository;
+
+    @Value("${medica.upload.max-jobs-per-company:1}")
+    private int maxJobsPerCompany;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, DatasetUploadJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> activeByCompany = new ConcurrentHashMap<>();
+
+    public DatasetUploadJobService(@Value("${medica.upload.workers:2}") int workers,
+                                   @Value("${medica.upload.queue-capacity:20}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "dataset-upload-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public DatasetUploadJob submit(MultipartFile file, Long companyId) throws IOException {
+        if (!companyRepository.existsById(companyId)) {
+            throw new IllegalArgumentException("Invalid company ID.");
+        }
+        evictFinishedJobs();
+        AtomicInteger active = acquireSlot(companyId);
+
+        Path spool = null;
+        try {
+            // The multipart file is deleted when the request ends, so keep our own copy
+            spool = Files.createTempFile("medicine-dataset-", ".csv");
+            file.transferTo(spool);
+
+            DatasetUploadJob job = new DatasetUploadJob(UUID.randomUUID().toString(), companyId);
+            jobs.put(job.getJobId(), job);
+            Path input = spool;
+            try {
+                executor.execute(() -> run(job, input));
+            } catch (RejectedExecutionException e) {
+                jobs.remove(job.getJobId());
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Too many uploads are being processed. Please try again later.");
+            }
+            return job;
+        } catch (IOException | RuntimeException e) {
+            active.decrementAndGet();
+            if (spool != null) {
+                Files.deleteIfExists(spool);
+            }
+            throw e;
+        }
+    }
+
+    // The synchronous upload, run in the caller's thread while holding one of the company's slots
+    public String processNow(MultipartFile file, Long companyId) throws IOException {
+        AtomicInteger active = acquireSlot(companyId);
+        try {
+            return medicineService.processMedicineDataset(file, companyId);
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    public Optional<DatasetUploadJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void run(DatasetUploadJob job, Path input) {
+        job.markRunning();
+        try {
+            medicineService.ingestDataset(Files.newInputStream(input), job.getCompanyId(), job.getReport());
+            job.markCompleted();
+        } catch (Exception e) {
+            logger.error("Dataset upload job {} failed: {}", job.getJobId(), e.getMessage());
+            job.markFailed(e.getMessage());
+        } finally {
+            activeByCompany.get(job.getCompanyId()).decrementAndGet();
+            try {
+                Files.deleteIfExists(input);
+            } catch (IOException e) {
+                logger.warn("Could not delete upload spool file {}", input);
+            }
+        }
+    }
+
+    // The company's active-upload counter, already incremented; 429 when all its slots are taken
+    private AtomicInteger acquireSlot(Long companyId) {
+        AtomicInteger active = activeByCompany.computeIfAbsent(companyId, id -> new AtomicInteger());
+        if (active.incrementAndGet() > maxJobsPerCompany) {
+            active.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Your company already has an upload in progress. Please wait for it to finish.");
+        }
+        return active;
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(RETENTION_MINUTES);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DoctorDashboardDTO;
+import com.example.demo.model.Patient;
+import com.example.demo.model.Visit;
+import com.example.demo.repository.PatientRepository;
+import com.example.demo.repository.VisitRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-doctor dashboard aggregates (patient count, visit count, latest visit, visits per week).
+ * They are loaded once at startup and then adjusted by the patient and visit save/delete paths,
+ * so reading a dashboard never scans patients or visits. To apply a change correctly the store
+ * remembers which doctor each patient was counted under, and the doctor and date of each visit.
+ */
+@Service
+public class DoctorDashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorDashboardService.class);
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private VisitRepository visitRepository;
+
+    // Weeks of history returned in visitsPerWeek, including the current one
+    @Value("${medica.dashboard.weeks:12}")
+    private int weeks;
+
+    private final Map<Long, DoctorStats> statsByDoctor = new ConcurrentHashMap<>();
+    private final Map<Long, Long> doctorByPatient = new ConcurrentHashMap<>();
+    private final Map<Long, CountedVisit> countedVisits = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Recount everything from the patients and visits tables
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        statsByDoctor.clear();
+        doctorByPatient.clear();
+        countedVisits.clear();
+        for (Object[] row : patientRepository.findAllDoctorAssignments()) {
+            countPatient((Long) row[0], (Long) row[1]);
+        }
+        for (Object[] row : visitRepository.findAllDashboardRows()) {
+            countVisit((Long) row[0], (Long) row[1], (LocalDate) row[2]);
+        }
+        logger.info("Doctor dashboards built for {} doctors ({} patients, {} visits) in {} ms",
+                statsByDoctor.size(), doctorByPatient.size(), countedVisits.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    public DoctorDashboardDTO getDashboard(Long doctorId) {
+        DoctorStats stats = statsByDoctor.get(doctorId);
+        if (stats == null) {
+            stats = new DoctorStats();
+        }
+        return stats.snapshot(doctorId, weeks);
+    }
+
+    // Call after a patient is saved (created, edited or reassigned)
+    public synchronized void patientSaved(Patient patient) {
+        if (patient.getId() == null) return;
+        uncountPatient(patient.getId());
+        countPatient(patient.getId(), patient.getDoctor() != null ? patient.getDoctor().getId() : null);
+    }
+
+    // Call after a patient is deleted, with the ids of the visits deleted along with it
+    public synchronized void patientDeleted(Long patientId, List<Long> visitIds) {
+        uncountPatient(patientId);
+        for (Long visitId : visitIds) {
+            uncountVisit(visitId);
+        }
+    }
+
+    // Call after a visit is saved (created or edited)
+    public synchronized void visitSaved(Visit visit) {
+        if (visit.getId() == null) return;
+        uncountVisit(visit.getId());
+        countVisit(visit.getId(), visit.getDoctor() != null ? visit.getDoctor().getId() : null, visit.getVisitDate());
+    }
+
+    public synchronized void visitDeleted(Long visitId) {
+        uncountVisit(visitId);
+    }
+
+    private void countPatient(Long patientId, Long doctorId) {
+        if (doctorId == null) return;
+        doctorByPatient.put(patientId, doctorId);
+        statsOf(doctorId).addPatients(1);
+    }
+
+    private void uncountPatient(Long patientId) {
+        Long doctorId = doctorByPatient.remove(patientId);
+        if (doctorId != null) {
+            statsOf(doctorId).addPatients(-1);
+        }
+    }
+
+    private void countVisit(Long visitId, Long doctorId, LocalDate date) {
+        if (doctorId == null) return;
+        countedVisits.put(visitId, new CountedVisit(doctorId, date));
+        statsOf(doctorId).addVisit(date, 1);
+    }
+
+    private void uncountVisit(Long visitId) {
+        CountedVisit visit = countedVisits.remove(visitId);
+        if (visit != null) {
+            statsOf(visit.doctorId).addVisit(visit.date, -1);
+        }
+    }
+
+    private DoctorStats statsOf(Long doctorId) {
+        return statsByDoctor.computeIfAbsent(doctorId, id -> new DoctorStats());
+    }
+
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static final class CountedVisit {
+        final Long doctorId;
+        final LocalDate date;
+
+        CountedVisit(Long doctorId, LocalDate date) {
+            this.doctorId = doctorId;
+            this.date = date;
+        }
+    }
+
+    private static final class DoctorStats {
+        private int patients;
+        private long visits;
+        // Visits per day (for the latest visit once the newest one is deleted) and per week (Monday)
+        private final TreeMap<LocalDate, Integer> visitsByDate = new TreeMap<>();
+        private final TreeMap<LocalDate, Integer> visitsByWeek = new TreeMap<>();
+
+        synchronized void addPatients(int delta) {
+            patients += delta;
+        }
+
+        synchronized void addVisit(LocalDate date, int delta) {
+            visits += delta;
+            if (date != null) {
+                adjust(visitsByDate, date, delta);
+                adjust(visitsByWeek, weekOf(date), delta);
+            }
+        }
+
+        synchronized DoctorDashboardDTO snapshot(Long doctorId, int weeks) {
+            LocalDate thisWeek = weekOf(LocalDate.now());
+            Map<String, Integer> perWeek = new LinkedHashMap<>();
+            for (int i = weeks - 1; i >= 0; i--) {
+                LocalDate week = thisWeek.minusWeeks(i);
+                perWeek.put(week.toString(), visitsByWeek.getOrDefault(week, 0));
+            }
+            return new DoctorDashboardDTO(doctorId, patients, visits,
+                    visitsByDate.isEmpty() ? null : visitsByDate.lastKey(),
+                    visitsByWeek.getOrDefault(thisWeek, 0),
+                    Collections.unmodifiableMap(perWeek));
+        }
+
+        private static void adjust(TreeMap<LocalDate, Integer> counts, LocalDate key, int delta) {
+            counts.compute(key, (k, count) -> {
+                int updated = (count != null ? count : 0) + delta;
+                return updated > 0 ? updated : null;
+            });
+        }
+    }
+}
@@ -7,6 +7,8 @@ import com.example.demo.model.Visit;
 import com.example.demo.repository.DoctorRepository;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.repository.VisitRepository;
+import com.example.demo.util.ReadCache;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -23,6 +25,19 @@ public class DoctorService {
     private UserRepository userRepository;
     @Autowired
     private VisitRepository visitRepository;  // Add VisitRepository for managing visits
+    @Autowired
+    private DoctorDashboardService doctorDashboardService;
+    @Autowired
+    private ReadCacheRegistry cacheRegistry;
+
+    // Single entry (ALL): the doctor list, invalidated by create/update/delete
+    private static final String ALL = "all";
+    private ReadCache<String, List<Doctor>> doctors;
+
+    @PostConstruct
+    public void initCaches() {
+        doctors = cacheRegistry.create("doctors", 1, 300);
+    }
 
     // Create a new doctor
     public Doctor createDoctor(User user, String specialization) {
@@ -36,12 +51,14 @@ public class DoctorService {
         Doctor doctor = new Doctor(savedUser, specialization);
 
         // Save and return the Doctor entity
-        return doctorRepository.save(doctor);
+        Doctor saved = doctorRepository.save(doctor);
+        doctors.invalidateAll();
+        return saved;
     }
 
 
     public List<Doctor> getAllDoctors() {
-        return doctorRepository.findAll();
+        return doctors.get(ALL, key -> List.copyOf(doctorRepository.findAllWithUser()));
     }
 
     public Optional<Doctor> getDoctorById(Long id) {
@@ -51,11 +68,14 @@ public class DoctorService {
     public void deleteDoctorById(Long id) {
         doctorRepository.deleteById(id);
         userRepository.deleteById(id); // remove user too
+        doctors.invalidateAll();
     }
 
 
     public Doctor updateDoctor(Doctor updatedDoctor) {
-        return doctorRepository.save(updatedDoctor);
+        Doctor saved = doctorRepository.save(updatedDoctor);
+        doctors.invalidateAll();
+        return saved;
     }
     // Method to get all visits for a patient assigned to this doctor
     public List<Visit> getPatientVisits(Long doctorId, Long patientId) {
@@ -66,7 +86,9 @@ public class DoctorService {
     // Method to add a visit for a specific patient by a doctor
     public Visit addVisit(Long doctorId, Visit visit) {
         // You may want to ensure that the doctor has permission to add visits for the patient
-        return visitRepository.save(visit);
+        Visit saved = visitRepository.save(visit);
+        doctorDashboardService.visitSaved(saved);
+        return saved;
     }
 
     public Optional<Doctor> getDoctorByContactInfo(String email) {
@@ -2,30 +2,206 @@ package com.example.demo.service;
 
 import com.example.demo.model.DrugInteraction;
 import com.example.demo.repository.DrugInteractionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
 
 @Service
 public class DrugInteractionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DrugInteractionService.class);
+
+    public static final int MAX_SUGGESTIONS = 50;
+
     @Autowired
     private DrugInteractionRepository repository;
 
+    // Snapshot of drug_interactions, swapped atomically on refresh
+    private volatile InteractionMatrix matrix = new InteractionMatrix();
+
+    // One hash lookup against the in-memory matrix; (a, b) and (b, a) are the same pair
     public List<DrugInteraction> checkInteraction(String drug1, String drug2) {
-        List<DrugInteraction> results = repository.findByDrug1IgnoreCaseAndDrug2IgnoreCase(drug1, drug2);
-        if (results.isEmpty()) {
-            results = repository.findByDrug2IgnoreCaseAndDrug1IgnoreCase(drug1, drug2);
-        }
-        return results;
+        return matrix.find(drug1, drug2);
+    }
+
+    // Every interacting pair within a regimen, evaluated against one matrix snapshot
+    public List<DrugInteraction> screenPrescription(List<String> drugs) {
+        return matrix.findAmong(drugs);
+    }
+
+    // Distinct drug names starting with prefix, most frequently interacting first
+    public List<String> suggestDrugNames(String prefix, int limit) {
+        return matrix.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
     }
 
     public void saveAll(List<DrugInteraction> interactions) {
         repository.saveAll(interactions);
+        refresh();
     }
     public List<DrugInteraction> findAll() {
         return repository.findAll();
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    // Rebuild the matrix from the table; call after any change to drug_interactions
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        InteractionMatrix rebuilt = new InteractionMatrix();
+        for (DrugInteraction interaction : repository.findAll()) {
+            rebuilt.add(interaction);
+        }
+        rebuilt.buildSuggestions();
+        matrix = rebuilt;
+        logger.info("Drug interaction matrix built: {} drugs, {} pairs in {} ms",
+                rebuilt.drugIds.size(), rebuilt.pairs.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Drug names are case-folded and interned to dense int ids; a pair is keyed by
+     * (smaller id, larger id) packed into a long, so lookups are order-independent.
+     * The distinct names are also kept sorted by folded form for prefix suggestions.
+     */
+    private static final class InteractionMatrix {
+        private final Map<String, Integer> drugIds = new HashMap<>();
+        private final Map<Long, List<DrugInteraction>> pairs = new HashMap<>();
+
+        // Indexed by drug id
+        private final List<String> displayNames = new ArrayList<>(); // as first seen in the table
+        private final List<String> foldedNames = new ArrayList<>();
+        private final List<Integer> pairCounts = new ArrayList<>();  // interactions the drug appears in
+
+        // Drug ids ordered by folded name, filled by buildSuggestions()
+        private int[] sortedIds = new int[0];
+
+        void add(DrugInteraction interaction) {
+            if (interaction.getDrug1() == null || interaction.getDrug2() == null) return;
+            int a = intern(interaction.getDrug1());
+            int b = intern(interaction.getDrug2());
+            pairs.computeIfAbsent(key(a, b), k -> new ArrayList<>(1)).add(interaction);
+            pairCounts.set(a, pairCounts.get(a) + 1);
+            if (b != a) {
+                pairCounts.set(b, pairCounts.get(b) + 1);
+            }
+        }
+
+        void buildSuggestions() {
+            sortedIds = new int[foldedNames.size()];
+            List<Integer> ids = new ArrayList<>(foldedNames.size());
+            for (int id = 0; id < foldedNames.size(); id++) {
+                ids.add(id);
+            }
+            ids.sort(Comparator.comparing(foldedNames::get));
+            for (int i = 0; i < sortedIds.length; i++) {
+                sortedIds[i] = ids.get(i);
+            }
+        }
+
+        // Scan the sorted range sharing the prefix, keeping the best `limit` ids in a small heap
+        List<String> suggest(String prefix, int limit) {
+            if (prefix == null || prefix.trim().isEmpty()) return Collections.emptyList();
+            String folded = fold(prefix);
+            Comparator<Integer> rank = Comparator.<Integer>comparingInt(pairCounts::get).reversed()
+                    .thenComparing(foldedNames::get);
+            PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1, rank.reversed());
+            for (int i = lowerBound(folded); i < sortedIds.length; i++) {
+                int id = sortedIds[i];
+                if (!foldedNames.get(id).startsWith(folded)) break;
+                best.offer(id);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<Integer> ranked = new ArrayList<>(best);
+            ranked.sort(rank);
+            List<String> names = new ArrayList<>(ranked.size());
+            for (int id : ranked) {
+                names.add(displayNames.get(id));
+            }
+            return names;
+        }
+
+        private int lowerBound(String folded) {
+            int low = 0;
+            int high = sortedIds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (foldedNames.get(sortedIds[mid]).compareTo(folded) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        List<DrugInteraction> find(String drug1, String drug2) {
+            if (drug1 == null || drug2 == null) return Collections.emptyList();
+            Integer a = drugIds.get(fold(drug1));
+            Integer b = drugIds.get(fold(drug2));
+            if (a == null || b == null) return Collections.emptyList();
+            List<DrugInteraction> hits = pairs.get(key(a, b));
+            return hits != null ? Collections.unmodifiableList(hits) : Collections.emptyList();
+        }
+
+        // Resolve each distinct drug once, then look up each unordered pair of known drugs
+        List<DrugInteraction> findAmong(List<String> drugs) {
+            List<Integer> ids = new ArrayList<>();
+            for (String drug : drugs) {
+                if (drug == null) continue;
+                Integer id = drugIds.get(fold(drug));
+                if (id != null && !ids.contains(id)) {
+                    ids.add(id);
+                }
+            }
+            List<DrugInteraction> hits = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                for (int j = i + 1; j < ids.size(); j++) {
+                    List<DrugInteraction> pair = pairs.get(key(ids.get(i), ids.get(j)));
+                    if (pair != null) {
+                        hits.addAll(pair);
+                    }
+                }
+            }
+            return hits;
+        }
+
+        private int intern(String drug) {
+            String folded = fold(drug);
+            Integer id = drugIds.get(folded);
+            if (id == null) {
+                id = displayNames.size();
+                drugIds.put(folded, id);
+                displayNames.add(drug.trim());
+                foldedNames.add(folded);
+                pairCounts.add(0);
+            }
+            return id;
+        }
+
+        private static long key(int a, int b) {
+            int low = Math.min(a, b);
+            int high = Math.max(a, b);
+            return ((long) low << 32) | (high & 0xFFFFFFFFL);
+        }
+
+        private static String fold(String drug) {
+            return drug.trim().toLowerCase(Locale.ROOT);
+        }
+    }
 }
@@ -0,0 +1,68 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Favorites;
+import com.example.demo.repository.FavoritesRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Favorite companies per doctor. Each doctor's company id set is loaded once and then
+ * kept up to date by add/remove, so favorite checks are served from memory.
+ */
+@Service
+public class FavoritesService {
+
+    @Autowired
+    private FavoritesRepository favoritesRepository;
+
+    private final Map<Long, Set<Long>> favoritesByDoctor = new ConcurrentHashMap<>();
+
+    public Set<Long> getFavoriteCompanyIds(Long doctorId) {
+        return Collections.unmodifiableSet(favoritesOf(doctorId));
+    }
+
+    public boolean isFavorite(Long doctorId, Long companyId) {
+        return favoritesOf(doctorId).contains(companyId);
+    }
+
+    // Returns false when the company was already a favorite
+    public boolean addFavorite(Long doctorId, Long companyId) {
+        Set<Long> favorites = favoritesOf(doctorId);
+        synchronized (favorites) {
+            if (favorites.contains(companyId)) {
+                return false;
+            }
+            favoritesRepository.save(new Favorites(companyId, doctorId));
+            favorites.add(companyId);
+            return true;
+        }
+    }
+
+    // Returns false when the company was not a favorite
+    public boolean removeFavorite(Long doctorId, Long companyId) {
+        Set<Long> favorites = favoritesOf(doctorId);
+        synchronized (favorites) {
+            Favorites favorite = favoritesRepository.findByDoctorIdAndCompanyId(doctorId, companyId);
+            if (favorite == null) {
+                favorites.remove(companyId);
+                return false;
+            }
+            favoritesRepository.delete(favorite);
+            favorites.remove(companyId);
+            return true;
+        }
+    }
+
+    private Set<Long> favoritesOf(Long doctorId) {
+        return favoritesByDoctor.computeIfAbsent(doctorId, id -> {
+            Set<Long> favorites = ConcurrentHashMap.newKeySet();
+            favorites.addAll(favoritesRepository.findCompanyIdsByDoctorId(id));
+            return favorites;
+        });
+    }
+}
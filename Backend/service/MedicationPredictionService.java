@@ -0,0 +1,152 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MedicationPrediction;
+import com.example.demo.dto.MedicationRequest;
+import com.example.demo.util.ReadCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Medication predictions with a result cache in front of the model. Requests are normalized to
+ * the values the model actually sees (the /predict defaults for missing fields), and the cache key
+ * is that feature vector plus the model version, so a different model never serves a cached
+ * answer. The in-process model is used when exported, otherwise the ML service; the version of the
+ * ML service's model comes back with each of its answers, and is also read from the service's
+ * status endpoint once per check interval so that a redeployed model is noticed even while every
+ * request is a cache hit. When the version changes the whole cache is dropped.
+ */
+@Service
+public class MedicationPredictionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MedicationPredictionService.class);
+
+    @Autowired
+    private MedicationRecommender medicationRecommender;
+
+    @Autowired
+    private MlGateway mlGateway;
+
+    @Autowired
+    private ReadCacheRegistry cacheRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${medica.recommender.check-interval-seconds:30}")
+    private long checkIntervalSeconds;
+
+    private ReadCache<List<Object>, MedicationPrediction> predictionCache;
+
+    // Version of the model the cached predictions came from; "" until the ML service has answered
+    private volatile String modelVersion = "";
+    private final AtomicLong nextServiceCheck = new AtomicLong(System.nanoTime());
+
+    @PostConstruct
+    public void initCache() {
+        predictionCache = cacheRegistry.create("predictions", 10_000, 3600);
+    }
+
+    // 200 with a MedicationPrediction, or the error status with a {"detail": ...} body
+    public ResponseEntity<?> predict(MedicationRequest request) {
+        MedicationRequest normalized = normalize(request);
+        medicationRecommender.reloadIfChanged();
+        if (medicationRecommender.isAvailable()) {
+            observeVersion(medicationRecommender.getModelVersion());
+            try {
+                return ResponseEntity.ok(predictionCache.get(key(modelVersion, normalized),
+                        k -> medicationRecommender.recommend(normalized)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("detail", "Encoding error: " + e.getMessage()));
+            } catch (IllegalStateException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("detail", e.getMessage()));
+            }
+        }
+
+        checkServiceVersion();
+        ResponseEntity<?>[] failure = new ResponseEntity<?>[1];
+        MedicationPrediction prediction = predictionCache.get(key(modelVersion, normalized), k -> {
+            ResponseEntity<String> response = mlGateway.predict(normalized);
+            MedicationPrediction parsed = response.getStatusCode().is2xxSuccessful() ? parse(response.getBody()) : null;
+            if (parsed == null) {
+                failure[0] = response;
+            }
+            return parsed;
+        });
+        if (prediction == null) {
+            return failure[0];
+        }
+        observeVersion(prediction.getModelVersion());
+        return ResponseEntity.ok(prediction);
+    }
+
+    // Fields as /predict sees them: missing values replaced by its defaults
+    public static MedicationRequest normalize(MedicationRequest request) {
+        return new MedicationRequest(
+                request.getAge() != null ? request.getAge() : 0,
+                request.getGender() != null ? request.getGender() : "Unknown",
+                request.getDiagnosis() != null ? request.getDiagnosis() : "Unknown",
+                request.getAllergies() != null ? request.getAllergies() : "None",
+                request.getChronicConditions() != null ? request.getChronicConditions() : "None");
+    }
+
+    private static List<Object> key(String version, MedicationRequest normalized) {
+        return List.of(version, normalized.getAge(), normalized.getGender(), normalized.getDiagnosis(),
+                normalized.getAllergies(), normalized.getChronicConditions());
+    }
+
+    // At most once per check interval, and by one caller only: the others keep the current version
+    private void checkServiceVersion() {
+        long next = nextServiceCheck.get();
+        long now = System.nanoTime();
+        if (now - next < 0 || !nextServiceCheck.compareAndSet(next, now + checkIntervalSeconds * 1_000_000_000L)) {
+            return;
+        }
+        ResponseEntity<String> response = mlGateway.serviceInfo();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return; // unreachable service: the next /predict call fails or is served from the cache
+        }
+        try {
+            observeVersion(objectMapper.readTree(response.getBody()).path("medication_model_version").textValue());
+        } catch (IOException e) {
+            logger.warn("Unreadable ML service status: {}", e.getMessage());
+        }
+    }
+
+    private void observeVersion(String version) {
+        if (version == null || version.equals(modelVersion)) return;
+        synchronized (this) {
+            if (version.equals(modelVersion)) return;
+            logger.info("Medication model version changed from '{}' to '{}'; clearing prediction cache",
+                    modelVersion, version);
+            modelVersion = version;
+            predictionCache.invalidateAll();
+        }
+    }
+
+    // The ML service answers {"medicine": ..., "model_version": ...}
+    private MedicationPrediction parse(String body) {
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            if (!json.hasNonNull("medicine")) return null;
+            return new MedicationPrediction(json.get("medicine").asText(),
+                    Objects.toString(json.path("model_version").textValue(), ""));
+        } catch (IOException e) {
+            logger.warn("Unreadable /predict response: {}", e.getMessage());
+            return null;
+        }
+    }
+}
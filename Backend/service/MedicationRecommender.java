@@ -0,0 +1,226 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MedicationPrediction;
+import com.example.demo.dto.MedicationRequest;
+import com.example.demo.util.TreeEnsembleModel;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scores the medication model in-process, giving the same answer as the ML service's /predict.
+ * The model and its LabelEncoder vocabularies come from the JSON written by
+ * "Machine learning/export_medicine_model.py"; missing fields get the same defaults as /predict
+ * and each categorical value is turned into its code with one map lookup. Without an exported
+ * model the recommender reports itself unavailable. A replaced model file is picked up by
+ * reloadIfChanged(), which looks at the file at most once per check interval.
+ */
+@Service
+public class MedicationRecommender {
+
+    private static final Logger logger = LoggerFactory.getLogger(MedicationRecommender.class);
+
+    private static final String FORMAT = "medica-tree-ensemble";
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${medica.recommender.model-location:classpath:predict_medicine_model.json}")
+    private String modelLocation;
+
+    @Value("${medica.recommender.check-interval-seconds:30}")
+    private long checkIntervalSeconds;
+
+    private volatile LoadedModel loaded;
+    private volatile long nextCheck = System.nanoTime();
+    private long loadedLastModified;
+
+    @PostConstruct
+    public void loadModel() {
+        try {
+            reload();
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Could not load medication model from {}: {}", modelLocation, e.getMessage());
+        }
+    }
+
+    // Re-read the model file; the previous model keeps serving if the new one is invalid
+    public synchronized boolean reload() throws IOException {
+        Resource resource = resourceLoader.getResource(modelLocation);
+        if (!resource.exists()) {
+            logger.warn("No medication model at {}; in-process recommendations are disabled", modelLocation);
+            return false;
+        }
+        long lastModified = lastModified(resource);
+        TreeEnsembleModel model;
+        try (InputStream in = resource.getInputStream()) {
+            model = parse(objectMapper.readTree(in));
+        }
+        loaded = new LoadedModel(model);
+        loadedLastModified = lastModified;
+        logger.info("Medication model {} loaded: {} trees, {} medicines",
+                model.getVersion(), model.getTreeCount(), model.getClasses().size());
+        return true;
+    }
+
+    // Reload if the model file was added or replaced since it was last read
+    public void reloadIfChanged() {
+        if (System.nanoTime() - nextCheck < 0) return;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (now - nextCheck < 0) return;
+            nextCheck = now + checkIntervalSeconds * 1_000_000_000L;
+            Resource resource = resourceLoader.getResource(modelLocation);
+            if (!resource.exists() || lastModified(resource) == loadedLastModified) return;
+            try {
+                reload();
+            } catch (IOException | IllegalArgumentException e) {
+                loadedLastModified = lastModified(resource); // don't retry the same broken file
+                logger.error("Could not reload medication model from {}: {}", modelLocation, e.getMessage());
+            }
+        }
+    }
+
+    public boolean isAvailable() {
+        return loaded != null;
+    }
+
+    public String getModelVersion() {
+        LoadedModel current = loaded;
+        return current != null ? current.model.getVersion() : null;
+    }
+
+    // Throws IllegalStateException without a model, IllegalArgumentException for values the model never saw
+    public MedicationPrediction recommend(MedicationRequest request) {
+        LoadedModel current = loaded;
+        if (current == null) {
+            throw new IllegalStateException("Medication model is not loaded");
+        }
+        TreeEnsembleModel model = current.model;
+        float[] x = new float[model.getFeatures().size()];
+        x[current.age] = request.getAge() != null ? request.getAge() : 0;
+        x[current.gender] = encode(current, current.gender, request.getGender(), "Unknown");
+        x[current.diagnosis] = encode(current, current.diagnosis, request.getDiagnosis(), "Unknown");
+        x[current.allergies] = encode(current, current.allergies, request.getAllergies(), "None");
+        x[current.chronicConditions] = encode(current, current.chronicConditions, request.getChronicConditions(), "None");
+        String medicine = model.getClasses().get(model.predict(x));
+        return new MedicationPrediction(medicine, model.getVersion());
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        LoadedModel current = loaded;
+        status.put("loaded", current != null);
+        status.put("location", modelLocation);
+        if (current != null) {
+            status.put("modelVersion", current.model.getVersion());
+            status.put("trees", current.model.getTreeCount());
+            status.put("medicines", current.model.getClasses().size());
+        }
+        return status;
+    }
+
+    private static int encode(LoadedModel current, int feature, String value, String defaultValue) {
+        String category = value != null ? value : defaultValue;
+        int code = current.model.encode(feature, category);
+        if (code < 0) {
+            throw new IllegalArgumentException("unknown " + current.model.getFeatures().get(feature) + " '" + category + "'");
+        }
+        return code;
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0; // no timestamp available: changes are not detected
+        }
+    }
+
+    private static TreeEnsembleModel parse(JsonNode root) {
+        if (!FORMAT.equals(root.path("format").asText())) {
+            throw new IllegalArgumentException("Not a " + FORMAT + " file");
+        }
+        TreeEnsembleModel.Builder builder = TreeEnsembleModel.builder(
+                root.path("modelVersion").asText(),
+                strings(root.path("features")),
+                strings(root.path("classes")),
+                root.path("numOutputs").asInt(),
+                (float) root.path("baseMargin").asDouble());
+
+        Iterator<Map.Entry<String, JsonNode>> encoders = root.path("encoders").fields();
+        while (encoders.hasNext()) {
+            Map.Entry<String, JsonNode> encoder = encoders.next();
+            builder.vocabulary(encoder.getKey(), strings(encoder.getValue()));
+        }
+        for (JsonNode tree : root.path("trees")) {
+            builder.tree(tree.path("output").asInt(),
+                    ints(tree.path("feature")),
+                    floats(tree.path("threshold")),
+                    ints(tree.path("yes")),
+                    ints(tree.path("no")),
+                    ints(tree.path("missing")),
+                    floats(tree.path("value")));
+        }
+        return builder.build();
+    }
+
+    private static List<String> strings(JsonNode array) {
+        List<String> values = new ArrayList<>(array.size());
+        array.forEach(node -> values.add(node.asText()));
+        return values;
+    }
+
+    private static int[] ints(JsonNode array) {
+        int[] values = new int[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i).asInt();
+        }
+        return values;
+    }
+
+    private static float[] floats(JsonNode array) {
+        float[] values = new float[array.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (float) array.get(i).asDouble();
+        }
+        return values;
+    }
+
+    // A model together with the positions of the request fields in its feature vector
+    private static final class LoadedModel {
+        final TreeEnsembleModel model;
+        final int age;
+        final int gender;
+        final int diagnosis;
+        final int allergies;
+        final int chronicConditions;
+
+        LoadedModel(TreeEnsembleModel model) {
+            this.model = model;
+            this.age = model.featureIndex("age");
+            this.gender = model.featureIndex("gender");
+            this.diagnosis = model.featureIndex("diagnosis");
+            this.allergies = model.featureIndex("allergies");
+            this.chronicConditions = model.featureIndex("chronic_conditions");
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DatasetIngestionReport;
+import com.example.demo.dto.MedicineSuggestion;
+import com.example.demo.repository.MedicineRepository;
+import com.example.demo.util.CsvFormatException;
+import com.example.demo.util.CsvReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk insert engine for company medicine datasets. Existing names are loaded once
+ * into a hash map, each row is classified in memory, and new rows are written with
+ * chunked JDBC batch inserts instead of one lookup and one save per row.
+ */
+@Service
+public class MedicineDatasetIngestor {
+
+    private static final Logger logger = LoggerFactory.getLogger(MedicineDatasetIngestor.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO medicines (name, substitute0, substitute1, use0, use1, use2, " +
+            "sideeffect0, sideeffect1, sideeffect2, company_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Owner marker for medicines that belong to the application dataset (company_id is null)
+    private static final Long APP_OWNED = -1L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MedicineRepository medicineRepository;
+
+    @Autowired
+    private MedicineSearchIndex searchIndex;
+
+    @Value("${medica.ingest.batch-size:500}")
+    private int batchSize;
+
+    // csv is positioned after the header; columns are in dataset order
+    public DatasetIngestionReport ingest(CsvReader csv, Long companyId) throws IOException {
+        return ingest(csv, companyId, new DatasetIngestionReport());
+    }
+
+    // Variant that fills a caller-owned report, so progress can be observed while it runs
+    public DatasetIngestionReport ingest(CsvReader csv, Long companyId, DatasetIngestionReport report) throws IOException {
+        long start = System.currentTimeMillis();
+        Map<String, Long> owners = loadOwners();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+
+        while (true) {
+            String[] fields;
+            try {
+                fields = csv.readRecord();
+            } catch (CsvFormatException e) {
+                report.addRowRead();
+                report.addMalformedRow(e.getLineNumber(), e.getReason());
+                continue;
+            }
+            if (fields == null) break;
+            if (fields.length == 1 && fields[0].trim().isEmpty()) continue; // blank line
+            report.addRowRead();
+            if (fields.length < 9) {
+                report.addMalformedRow(csv.getRecordLine(), "expected 9 fields, found " + fields.length);
+                continue;
+            }
+
+            String name = fields[0].trim();
+            Long owner = owners.get(name.toLowerCase(Locale.ROOT));
+            if (owner != null) {
+                if (owner.equals(APP_OWNED)) {
+                    report.addAppOwnedDuplicate(name);
+                } else if (!owner.equals(companyId)) {
+                    report.addOtherCompanyDuplicate(name);
+                } else {
+                    report.addYourCompanyDuplicate(name);
+                }
+                continue;
+            }
+
+            // Later rows with the same name are reported as your-company duplicates
+            owners.put(name.toLowerCase(Locale.ROOT), companyId);
+            batch.add(new Object[]{
+                    name,
+                    fields[1].trim(), fields[2].trim(),
+                    fields[3].trim(), fields[4].trim(), fields[5].trim(),
+                    fields[6].trim(), fields[7].trim(), fields[8].trim(),
+                    companyId
+            });
+            if (batch.size() >= batchSize) {
+                flush(batch, report);
+            }
+        }
+        flush(batch, report);
+
+        if (report.getInsertedCount() > 0) {
+            for (MedicineSuggestion suggestion : medicineRepository.findSuggestionsByCompanyId(companyId)) {
+                searchIndex.put(suggestion);
+            }
+        }
+        logger.info("Dataset for company {}: {} rows inserted in {} ms",
+                companyId, report.getInsertedCount(), System.currentTimeMillis() - start);
+        return report;
+    }
+
+    private void flush(List<Object[]> batch, DatasetIngestionReport report) {
+        if (batch.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        report.addInserted(batch.size());
+        batch.clear();
+    }
+
+    // Folded name -> owning company id (APP_OWNED when no company); first owner wins
+    private Map<String, Long> loadOwners() {
+        Map<String, Long> owners = new HashMap<>();
+        for (Object[] row : medicineRepository.findAllNameOwners()) {
+            if (row[0] == null) continue;
+            Long owner = row[1] != null ? (Long) row[1] : APP_OWNED;
+            owners.putIfAbsent(((String) row[0]).toLowerCase(Locale.ROOT), owner);
+        }
+        return owners;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MedicineSuggestion;
+import com.example.demo.model.Medicine;
+import com.example.demo.model.PharmaceuticalCompany;
+import com.example.demo.repository.MedicineRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory prefix index over medicine names used by the autocomplete endpoint.
+ * Names are case-folded and kept sorted, so a prefix lookup is a range scan that
+ * stops after the first K hits and never touches the database.
+ */
+@Service
+public class MedicineSearchIndex {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private static final Logger logger = LoggerFactory.getLogger(MedicineSearchIndex.class);
+
+    @Autowired
+    private MedicineRepository medicineRepository;
+
+    // Key is the folded name, a NUL separator and the id, so medicines sharing a name stay distinct
+    private final ConcurrentSkipListMap<String, MedicineSuggestion> entries = new ConcurrentSkipListMap<>();
+    // Current key of every indexed medicine, needed to remove or rename it
+    private final Map<Long, String> keysById = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // Reload the whole index from the medicines table
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        entries.clear();
+        keysById.clear();
+        for (MedicineSuggestion suggestion : medicineRepository.findAllSuggestions()) {
+            put(suggestion);
+        }
+        logger.info("Medicine search index built with {} entries in {} ms",
+                entries.size(), System.currentTimeMillis() - start);
+    }
+
+    // Return up to limit medicines whose name starts with prefix (case-insensitive), ordered by name
+    public List<MedicineSuggestion> search(String prefix, int limit) {
+        List<MedicineSuggestion> hits = new ArrayList<>();
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return hits;
+        }
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        String folded = fold(prefix.trim());
+        ConcurrentNavigableMap<String, MedicineSuggestion> range =
+                entries.subMap(folded, true, folded + Character.MAX_VALUE, false);
+        for (MedicineSuggestion suggestion : range.values()) {
+            hits.add(suggestion);
+            if (hits.size() >= max) {
+                break;
+            }
+        }
+        return hits;
+    }
+
+    // Add or refresh a single medicine after it has been saved
+    public void put(Medicine medicine) {
+        if (medicine == null || medicine.getId() == null || medicine.getName() == null) {
+            return;
+        }
+        PharmaceuticalCompany company = medicine.getCompany();
+        Long companyId = company != null ? company.getId() : null;
+        String companyName = company != null && company.getUser() != null ? company.getUser().getFullName() : null;
+        put(new MedicineSuggestion(medicine.getId(), medicine.getName(), companyId, companyName));
+    }
+
+    public synchronized void put(MedicineSuggestion suggestion) {
+        if (suggestion.getId() == null || suggestion.getName() == null) {
+            return;
+        }
+        String key = fold(suggestion.getName()) + '\u0000' + suggestion.getId();
+        String previous = keysById.put(suggestion.getId(), key);
+        if (previous != null && !previous.equals(key)) {
+            entries.remove(previous);
+        }
+        entries.put(key, suggestion);
+    }
+
+    public synchronized void remove(Long medicineId) {
+        String key = keysById.remove(medicineId);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
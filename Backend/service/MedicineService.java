@@ -1,23 +1,28 @@
 package com.example.demo.service;
 
 import com.example.demo.dto.AddMedicineRequest;
+import com.example.demo.dto.DatasetIngestionReport;
 import com.example.demo.dto.UpdateMedicineRequest;
 import com.example.demo.model.Medicine;
 import com.example.demo.model.PharmaceuticalCompany;
 import com.example.demo.repository.MedicineRepository;
 import com.example.demo.repository.PharmaceuticalCompanyRepository;
+import com.example.demo.util.CsvReader;
+import com.example.demo.util.ReadCache;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class MedicineService {
@@ -28,6 +33,32 @@ public class MedicineService {
     @Autowired
     private PharmaceuticalCompanyRepository companyRepository;
 
+    @Autowired
+    private MedicineSearchIndex searchIndex;
+
+    @Autowired
+    private MedicineDatasetIngestor datasetIngestor;
+
+    @Autowired
+    private ReadCacheRegistry cacheRegistry;
+
+    @Autowired
+    private SecondLevelCacheService secondLevelCache;
+
+    // Medicine by id (empty when missing); every write path below invalidates it
+    private ReadCache<Long, Optional<Medicine>> medicinesById;
+
+    @PostConstruct
+    public void initCaches() {
+        medicinesById = cacheRegistry.create("medicines", 10_000, 600);
+    }
+
+    // For bulk JDBC writes, which neither this service nor Hibernate sees (e.g. the startup dataset load)
+    public void invalidateMedicineCache() {
+        medicinesById.invalidateAll();
+        secondLevelCache.evict(Medicine.class);
+    }
+
     public Optional<Medicine> findByName(String name) {
         return medicineRepository.findByName(name);
     }
@@ -111,7 +142,10 @@ public class MedicineService {
         medicine.setSideeffect2(request.getSideeffect2().trim());
         medicine.setCompany(company);
 
-        return medicineRepository.save(medicine);
+        Medicine saved = medicineRepository.save(medicine);
+        searchIndex.put(saved);
+        medicinesById.invalidate(saved.getId());
+        return saved;
     }
 
 
@@ -137,6 +171,8 @@ public class MedicineService {
         }
 
         medicineRepository.deleteById(medicineId);
+        searchIndex.remove(medicineId);
+        medicinesById.invalidate(medicineId);
         return "Medicine deleted successfully.";
     }
     public String updateMedicine(Long companyId, Long medicineId, UpdateMedicineRequest request) {
@@ -243,6 +279,8 @@ public class MedicineService {
 
         // 6) Persist
         medicineRepository.save(medicine);
+        searchIndex.put(medicine);
+        medicinesById.invalidate(medicineId);
         return "Medicine updated successfully.";
     }
 
@@ -257,73 +295,17 @@ public class MedicineService {
             throw new IllegalArgumentException("Invalid company ID.");
         }
 
-        BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream()));
-        String line;
-        int insertedCount = 0;
-        int appOwnedDuplicates = 0;
-        int otherCompanyDuplicates = 0;
-        int yourCompanyDuplicates = 0;
-
-        List<String> appOwnedNames = new ArrayList<>();
-        List<String> otherCompanyNames = new ArrayList<>();
-        List<String> yourCompanyNames = new ArrayList<>();
-
-        reader.readLine(); // Skip header
-
-        while ((line = reader.readLine()) != null) {
-            String[] fields = line.split(",");
-
-            if (fields.length < 9) continue;
-
-            String name = fields[0].trim();
-            List<Medicine> existingOpt = medicineRepository.findByNameIgnoreCase(name);
-
-            if (!existingOpt.isEmpty()) {
-                Medicine existing = existingOpt.get(0);
-                if (existing.getCompany() == null) {
-                    appOwnedDuplicates++;
-                    appOwnedNames.add(name);
-                } else if (!existing.getCompany().getId().equals(companyId)) {
-                    otherCompanyDuplicates++;
-                    otherCompanyNames.add(name);
-                } else {
-                    yourCompanyDuplicates++;
-                    yourCompanyNames.add(name);
-                }
-                continue;
-            }
-
-            Medicine med = new Medicine();
-            med.setName(name);
-            med.setSubstitute0(fields[1].trim());
-            med.setSubstitute1(fields[2].trim());
-            med.setUse0(fields[3].trim());
-            med.setUse1(fields[4].trim());
-            med.setUse2(fields[5].trim());
-            med.setSideeffect0(fields[6].trim());
-            med.setSideeffect1(fields[7].trim());
-            med.setSideeffect2(fields[8].trim());
-            med.setCompany(companyOpt.get());
-
-            medicineRepository.save(med);
-            insertedCount++;
-        }
+        return ingestDataset(file.getInputStream(), companyId, new DatasetIngestionReport()).toMessage();
+    }
 
-        StringBuilder result = new StringBuilder(insertedCount + " medicines added successfully.");
-        if (!yourCompanyNames.isEmpty()) {
-            result.append(" ").append(yourCompanyNames.size()).append(" medicines already exist and are owned by your company: ")
-                    .append(String.join(", ", yourCompanyNames)).append(".");
-        }
-        if (!appOwnedNames.isEmpty()) {
-            result.append(" ").append(appOwnedNames.size()).append(" medicines already exist in the app (no company): ")
-                    .append(String.join(", ", appOwnedNames)).append(".");
+    // Shared by the synchronous upload and background upload jobs; closes the stream
+    public DatasetIngestionReport ingestDataset(InputStream in, Long companyId, DatasetIngestionReport report) throws IOException {
+        try (CsvReader csv = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            csv.readRecord(); // Skip header
+            return datasetIngestor.ingest(csv, companyId, report);
+        } finally {
+            invalidateMedicineCache(); // rows were inserted through JDBC
         }
-        if (!otherCompanyNames.isEmpty()) {
-            result.append(" ").append(otherCompanyNames.size()).append(" medicines already exist under another company: ")
-                    .append(String.join(", ", otherCompanyNames)).append(".");
-        }
-
-        return result.toString();
     }
 
 
@@ -331,8 +313,18 @@ public class MedicineService {
         return medicineRepository.findAllByCompany_Id(companyId);
     }
 
+    public boolean hasMedicines(Long companyId) {
+        return medicineRepository.existsByCompany_Id(companyId);
+    }
+
+    // Same rows as getMedicinesByCompanyId(), read one at a time; consume inside a transaction
+    public Stream<Medicine> streamMedicinesByCompanyId(Long companyId) {
+        return medicineRepository.streamAllByCompanyId(companyId);
+    }
+
     public Optional<Medicine> getMedicineByCompanyAndId(Long companyId, Long medicineId) {
-        return medicineRepository.findByIdAndCompanyId(medicineId, companyId);
+        return medicinesById.get(medicineId, medicineRepository::findById)
+                .filter(m -> m.getCompany() != null && m.getCompany().getId().equals(companyId));
     }
 
 
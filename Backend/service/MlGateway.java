@@ -0,0 +1,215 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MedicationRequest;
+import com.example.demo.util.Bulkhead;
+import com.example.demo.util.CircuitBreaker;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client for the Python ML service (Machine learning/main.py). All calls share one HttpClient,
+ * which keeps connections to the service alive between calls, and each call has its own deadline.
+ * A bulkhead caps concurrent calls and a circuit breaker stops calling a service that keeps
+ * failing, so a slow or dead model answers quickly with 503/504 instead of holding request
+ * threads. Batch calls get a bulkhead and breaker of their own: a long batch neither takes the
+ * slots interactive calls need nor, by timing out, opens the circuit for them.
+ * Point medica.ml.base-url at a stub server to run without the real models.
+ */
+@Service
+public class MlGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(MlGateway.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${medica.ml.base-url:http://localhost:8083}")
+    private String baseUrl;
+
+    @Value("${medica.ml.connect-timeout-ms:500}")
+    private long connectTimeoutMs;
+
+    @Value("${medica.ml.predict-timeout-ms:2000}")
+    private long predictTimeoutMs;
+
+    @Value("${medica.ml.improvement-timeout-ms:3000}")
+    private long improvementTimeoutMs;
+
+    @Value("${medica.ml.batch-timeout-ms:30000}")
+    private long batchTimeoutMs;
+
+    @Value("${medica.ml.info-timeout-ms:1000}")
+    private long infoTimeoutMs;
+
+    @Value("${medica.ml.max-concurrent-calls:16}")
+    private int maxConcurrentCalls;
+
+    @Value("${medica.ml.max-wait-ms:100}")
+    private long maxWaitMs;
+
+    @Value("${medica.ml.breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${medica.ml.breaker.open-seconds:30}")
+    private long openSeconds;
+
+    @Value("${medica.ml.batch.max-concurrent-calls:2}")
+    private int batchMaxConcurrentCalls;
+
+    @Value("${medica.ml.batch.max-wait-ms:1000}")
+    private long batchMaxWaitMs;
+
+    @Value("${medica.ml.batch.breaker.failure-threshold:3}")
+    private int batchFailureThreshold;
+
+    @Value("${medica.ml.batch.breaker.open-seconds:60}")
+    private long batchOpenSeconds;
+
+    private HttpClient httpClient;
+    private Bulkhead bulkhead;
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead batchBulkhead;
+    private CircuitBreaker batchCircuitBreaker;
+    private final AtomicLong timeouts = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1) // uvicorn speaks HTTP/1.1 only
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        bulkhead = new Bulkhead("ml", maxConcurrentCalls, Duration.ofMillis(maxWaitMs));
+        circuitBreaker = new CircuitBreaker("ml", failureThreshold, Duration.ofSeconds(openSeconds));
+        batchBulkhead = new Bulkhead("ml-batch", batchMaxConcurrentCalls, Duration.ofMillis(batchMaxWaitMs));
+        batchCircuitBreaker = new CircuitBreaker("ml-batch", batchFailureThreshold, Duration.ofSeconds(batchOpenSeconds));
+    }
+
+    // /predict: recommended medicine for the patient's features
+    public ResponseEntity<String> predict(MedicationRequest request) {
+        return post("/predict", request, Duration.ofMillis(predictTimeoutMs), bulkhead, circuitBreaker);
+    }
+
+    // /predictImprovement: improvement prediction for a patient, medicine and test results
+    public ResponseEntity<String> predictImprovement(Map<String, Object> data) {
+        return post("/predictImprovement", data, Duration.ofMillis(improvementTimeoutMs), bulkhead, circuitBreaker);
+    }
+
+    // /predictImprovementBatch: {"results": [...]}, one result per row, in row order
+    public ResponseEntity<String> predictImprovementBatch(List<Map<String, Object>> rows) {
+        return post("/predictImprovementBatch", Map.of("rows", rows), Duration.ofMillis(batchTimeoutMs),
+                batchBulkhead, batchCircuitBreaker);
+    }
+
+    // GET /: service status, including the loaded models' versions
+    public ResponseEntity<String> serviceInfo() {
+        Duration timeout = Duration.ofMillis(infoTimeoutMs);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/"))
+                .timeout(timeout)
+                .GET()
+                .build();
+        return send("/", request, timeout, bulkhead, circuitBreaker);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("baseUrl", baseUrl);
+        stats.put("circuitBreaker", circuitBreaker.stats());
+        stats.put("bulkhead", bulkhead.stats());
+        Map<String, Object> batch = new LinkedHashMap<>();
+        batch.put("circuitBreaker", batchCircuitBreaker.stats());
+        batch.put("bulkhead", batchBulkhead.stats());
+        stats.put("batch", batch);
+        stats.put("timeouts", timeouts.get());
+        return stats;
+    }
+
+    // Upstream status and body as-is; 503/504 with a {"detail": ...} body when the call is not made or fails
+    private ResponseEntity<String> post(String path, Object body, Duration timeout,
+                                        Bulkhead bulkhead, CircuitBreaker circuitBreaker) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            return error(HttpStatus.BAD_REQUEST, "Invalid request: " + e.getOriginalMessage());
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+                .build();
+        return send(path, request, timeout, bulkhead, circuitBreaker);
+    }
+
+    private ResponseEntity<String> send(String path, HttpRequest request, Duration timeout,
+                                        Bulkhead bulkhead, CircuitBreaker circuitBreaker) {
+        if (!bulkhead.tryAcquire()) {
+            return error(HttpStatus.SERVICE_UNAVAILABLE, "ML service is busy, try again");
+        }
+        try {
+            long permit = circuitBreaker.tryAcquire();
+            if (permit == CircuitBreaker.NO_PERMIT) {
+                return error(HttpStatus.SERVICE_UNAVAILABLE, "ML service is unavailable");
+            }
+            HttpResponse<String> response;
+            try {
+                response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (HttpTimeoutException e) {
+                circuitBreaker.onFailure(permit);
+                timeouts.incrementAndGet();
+                logger.warn("ML call {} timed out after {} ms", path, timeout.toMillis());
+                return error(HttpStatus.GATEWAY_TIMEOUT, "ML service did not answer in time");
+            } catch (IOException e) {
+                circuitBreaker.onFailure(permit);
+                logger.warn("ML call {} failed: {}", path, e.toString());
+                return error(HttpStatus.SERVICE_UNAVAILABLE, "ML service is unavailable");
+            } catch (InterruptedException e) {
+                circuitBreaker.onFailure(permit);
+                Thread.currentThread().interrupt();
+                return error(HttpStatus.SERVICE_UNAVAILABLE, "ML call interrupted");
+            }
+            // 4xx means the service is healthy and rejected the input: every endpoint answers bad input
+            // (unknown labels, missing fields) with 400, so only real failures count against the breaker
+            if (response.statusCode() >= 500) {
+                circuitBreaker.onFailure(permit);
+            } else {
+                circuitBreaker.onSuccess(permit);
+            }
+            return ResponseEntity.status(response.statusCode())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(response.body());
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private ResponseEntity<String> error(HttpStatus status, String detail) {
+        try {
+            return ResponseEntity.status(status)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(objectMapper.writeValueAsString(Map.of("detail", detail)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
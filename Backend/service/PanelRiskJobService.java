@@ -0,0 +1,185 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ImprovementRiskDTO;
+import com.example.demo.dto.PanelRiskJob;
+import com.example.demo.repository.DoctorRepository;
+import com.example.demo.repository.PatientRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds improvement-risk reports for a doctor's whole patient panel in the background. Feature
+ * rows come from each patient and their latest visit (diagnosis and prescribed medicine) in one
+ * query, and are scored through the ML service's batch endpoint in chunks, so a panel costs a few
+ * model calls instead of one request per patient. Reports are polled by job id; each doctor may
+ * only have one report queued or running at a time.
+ */
+@Service
+public class PanelRiskJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PanelRiskJobService.class);
+
+    // Finished jobs stay pollable for this long
+    private static final long RETENTION_MINUTES = 60;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private MlGateway mlGateway;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Patients per /predictImprovementBatch call
+    @Value("${medica.panel-risk.chunk-size:500}")
+    private int chunkSize;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, PanelRiskJob> jobs = new ConcurrentHashMap<>();
+    private final Set<Long> activeDoctors = ConcurrentHashMap.newKeySet();
+
+    public PanelRiskJobService(@Value("${medica.panel-risk.workers:2}") int workers,
+                               @Value("${medica.panel-risk.queue-capacity:20}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "panel-risk-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public PanelRiskJob submit(Long doctorId) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new IllegalArgumentException("Invalid doctor ID.");
+        }
+        evictFinishedJobs();
+
+        if (!activeDoctors.add(doctorId)) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "A risk report for this doctor is already in progress. Please wait for it to finish.");
+        }
+        PanelRiskJob job = new PanelRiskJob(UUID.randomUUID().toString(), doctorId);
+        jobs.put(job.getJobId(), job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            activeDoctors.remove(doctorId);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many risk reports are being prepared. Please try again later.");
+        }
+        return job;
+    }
+
+    public Optional<PanelRiskJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void run(PanelRiskJob job) {
+        try {
+            List<ImprovementRiskDTO> rows = patientRepository.findRiskRowsByDoctorId(job.getDoctorId());
+            job.markRunning(rows.size());
+
+            List<ImprovementRiskDTO> scorable = new ArrayList<>();
+            for (ImprovementRiskDTO row : rows) {
+                if (row.getAge() == null || row.getDiagnosis() == null || row.getMedicine() == null) {
+                    row.setError("No age, or no visit with a diagnosis and prescribed medicine");
+                    job.addProgress(0, 1);
+                } else {
+                    scorable.add(row);
+                }
+            }
+            for (int from = 0; from < scorable.size(); from += chunkSize) {
+                scoreChunk(job, scorable.subList(from, Math.min(from + chunkSize, scorable.size())));
+            }
+            job.markCompleted(rows);
+        } catch (Exception e) {
+            logger.error("Panel risk job {} failed: {}", job.getJobId(), e.getMessage());
+            job.markFailed(e.getMessage());
+        } finally {
+            activeDoctors.remove(job.getDoctorId());
+        }
+    }
+
+    private void scoreChunk(PanelRiskJob job, List<ImprovementRiskDTO> chunk) throws IOException {
+        List<Map<String, Object>> features = new ArrayList<>(chunk.size());
+        for (ImprovementRiskDTO row : chunk) {
+            features.add(features(row));
+        }
+        ResponseEntity<String> response = mlGateway.predictImprovementBatch(features);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new IllegalStateException("ML service answered " + response.getStatusCode().value()
+                    + ": " + response.getBody());
+        }
+        JsonNode results = objectMapper.readTree(response.getBody()).path("results");
+        if (results.size() != chunk.size()) {
+            throw new IllegalStateException("ML service returned " + results.size() + " results for "
+                    + chunk.size() + " patients");
+        }
+        int scored = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            ImprovementRiskDTO row = chunk.get(i);
+            JsonNode result = results.get(i);
+            if (result.hasNonNull("error")) {
+                row.setError(result.get("error").asText());
+            } else {
+                row.setPrediction(result.path("prediction").asText());
+                row.setImprovementProbability(result.path("improvement_probability").asDouble());
+                scored++;
+            }
+        }
+        job.addProgress(scored, chunk.size() - scored);
+    }
+
+    // Same fields as the medicineSuitability page sends; what the records don't hold is assumed
+    // (PanelRiskJob.ASSUMED_FEATURES) or left missing (PanelRiskJob.MISSING_FEATURES)
+    private static Map<String, Object> features(ImprovementRiskDTO row) {
+        Map<String, Object> features = new HashMap<>();
+        features.put("age", row.getAge());
+        features.put("gender", row.getGender());
+        features.put("diagnosis", row.getDiagnosis());
+        features.put("medicine", row.getMedicine());
+        features.putAll(PanelRiskJob.ASSUMED_FEATURES);
+        return features;
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(RETENTION_MINUTES);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
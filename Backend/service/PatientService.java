@@ -1,14 +1,23 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.PatientSummaryDTO;
 import com.example.demo.model.Patient;
 import com.example.demo.model.Visit;
 import com.example.demo.repository.PatientRepository;
 import com.example.demo.repository.VisitRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 public class PatientService {
@@ -17,6 +26,8 @@ public class PatientService {
     private PatientRepository patientRepository;
     @Autowired
     private VisitRepository visitRepository;  // Add VisitRepository for managing visits
+    @Autowired
+    private DoctorDashboardService doctorDashboardService;
 
 
     public Optional<Patient> getPatientById(Long id) {
@@ -24,20 +35,97 @@ public class PatientService {
     }
 
     public Patient savePatient(Patient patient) {
-        return patientRepository.save(patient);
+        Patient saved = patientRepository.save(patient);
+        doctorDashboardService.patientSaved(saved);
+        return saved;
     }
 
 
     public List<Patient> getPatientsByDoctorId(Long doctorId) {
-        return patientRepository.findByDoctorId(doctorId);
+        return patientRepository.findWithDoctorByDoctorId(doctorId);
     }
 
     public List<Patient> getAllPatients() {
-        return patientRepository.findAll();
+        return patientRepository.findAllWithDoctor();
+    }
+
+    // Listing views: a constant number of queries whatever the panel size
+    public List<PatientSummaryDTO> getPatientSummariesByDoctorId(Long doctorId) {
+        return patientRepository.findSummariesByDoctorId(doctorId);
+    }
+
+    public List<PatientSummaryDTO> getAllPatientSummaries() {
+        return patientRepository.findAllSummaries();
+    }
+
+    // Same rows as getAllPatientSummaries(), read one at a time; consume inside a transaction
+    public Stream<PatientSummaryDTO> streamAllPatientSummaries() {
+        return patientRepository.streamAllSummaries();
+    }
+
+    /**
+     * One keyset page of patients, sorted by "id" (default) or "name" with id as the
+     * tie-breaker; patients without a name come first in name order. after is decodeCursor()
+     * of the previous page's cursor, or null for the first page. The stream must be consumed
+     * inside a transaction.
+     */
+    public Stream<PatientSummaryDTO> streamPatientPage(Long doctorId, String name, String phone,
+                                                       Integer minAge, Integer maxAge, String bloodType,
+                                                       String sort, String[] after, int size) {
+        Pageable limit = PageRequest.of(0, size);
+        if ("name".equals(sort)) {
+            String nameFilter = escapeLike(name);
+            String phoneFilter = escapeLike(phone);
+            String bloodTypeFilter = blankToNull(bloodType);
+            if (after != null && after[1] != null) {
+                return patientRepository.streamPageByName(doctorId, nameFilter, phoneFilter, minAge, maxAge,
+                        bloodTypeFilter, after[1], Long.valueOf(after[0]), limit);
+            }
+            // Still among the unnamed patients: the named ones follow, queried only if this page reaches them
+            Stream<PatientSummaryDTO> unnamed = patientRepository.streamPageWithoutName(doctorId, nameFilter,
+                    phoneFilter, minAge, maxAge, bloodTypeFilter, after != null ? Long.valueOf(after[0]) : null, limit);
+            Supplier<Stream<PatientSummaryDTO>> named = () -> patientRepository.streamPageByName(doctorId,
+                    nameFilter, phoneFilter, minAge, maxAge, bloodTypeFilter, null, null, limit);
+            return Stream.concat(unnamed, Stream.of(named).flatMap(Supplier::get)).limit(size);
+        }
+        return patientRepository.streamPageById(doctorId, escapeLike(name), escapeLike(phone),
+                minAge, maxAge, blankToNull(bloodType),
+                after != null ? Long.valueOf(after[0]) : null, limit);
+    }
+
+    // Opaque cursor for a row: base64url of "<id>:<name>", or of "<id>" for a patient without a name
+    public String pageCursor(PatientSummaryDTO patient) {
+        String raw = patient.getName() != null ? patient.getId() + ":" + patient.getName() : String.valueOf(patient.getId());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // [id, name (null for an unnamed patient)] of the row a cursor points at, or null for no cursor
+    public String[] decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 2);
+            Long.parseLong(parts[0]);
+            return parts.length == 2 ? parts : new String[]{parts[0], null};
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page cursor.");
+        }
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    // Prefix filter with LIKE wildcards taken literally ('!' is the query's escape character)
+    private String escapeLike(String value) {
+        String trimmed = blankToNull(value);
+        return trimmed == null ? null : trimmed.replace("!", "!!").replace("%", "!%").replace("_", "!_");
     }
 
     public void deletePatientById(Long id) {
+        List<Long> visitIds = visitRepository.findIdsByPatientId(id); // removed with the patient by cascade
         patientRepository.deleteById(id);
+        doctorDashboardService.patientDeleted(id, visitIds);
     }
     public Optional<Patient> getPatientByPhoneNumber(String phoneNumber) {
         return patientRepository.findByPhoneNumber(phoneNumber);
@@ -50,7 +138,9 @@ public class PatientService {
 
     // Method to save a new visit for a patient
     public Visit saveVisit(Visit visit) {
-        return visitRepository.save(visit);  // Save the visit record
+        Visit saved = visitRepository.save(visit);  // Save the visit record
+        doctorDashboardService.visitSaved(saved);
+        return saved;
     }
 
     // Method to get a visit by its ID
@@ -61,6 +151,7 @@ public class PatientService {
     // Method to delete a visit by its ID
     public void deleteVisitById(Long visitId) {
         visitRepository.deleteById(visitId);  // Delete the visit record
+        doctorDashboardService.visitDeleted(visitId);
     }
 
 }
@@ -17,6 +17,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class PharmaceuticalCompanyService {
@@ -36,6 +37,9 @@ public class PharmaceuticalCompanyService {
     @Autowired
     private ActionLogService actionLogService;
 
+    @Autowired
+    private MedicineService medicineService;
+
     public PharmaceuticalCompany createCompany(PharmaceuticalCompanyRegistrationRequest request) {
 
         // Custom phone number validation: Only 11 digits and starts with '01'
@@ -95,9 +99,9 @@ public class PharmaceuticalCompanyService {
         return pharmaRepo.save(company);
     }
 
-    public List<PharmaceuticalCompany> getAllCompanies() {
-        return pharmaRepo.findAll();
-
+    // Every company with its user, read one at a time; consume inside a transaction
+    public Stream<PharmaceuticalCompany> streamAllCompanies() {
+        return pharmaRepo.streamAllWithUser();
     }
 
     public void deleteCompanyAndUserById(Long companyId, Long adminUserId) {
@@ -111,6 +115,7 @@ public class PharmaceuticalCompanyService {
 
         // Delete user after
         userRepository.deleteById(companyUserId);
+        medicineService.invalidateMedicineCache();
 
         Optional<User> userOpt = userService.getUserById(adminUserId);
         User adminUser = userOpt.get();
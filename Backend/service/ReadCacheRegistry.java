@@ -0,0 +1,38 @@
+package com.example.demo.service;
+
+import com.example.demo.util.ReadCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the named read caches and reports their statistics. Each cache can be sized with
+ * medica.cache.&lt;name&gt;.max-size and medica.cache.&lt;name&gt;.ttl-seconds.
+ */
+@Service
+public class ReadCacheRegistry {
+
+    @Autowired
+    private Environment environment;
+
+    private final Map<String, ReadCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    public <K, V> ReadCache<K, V> create(String name, int defaultMaxSize, long defaultTtlSeconds) {
+        int maxSize = environment.getProperty("medica.cache." + name + ".max-size", Integer.class, defaultMaxSize);
+        long ttlSeconds = environment.getProperty("medica.cache." + name + ".ttl-seconds", Long.class, defaultTtlSeconds);
+        ReadCache<K, V> cache = new ReadCache<>(name, maxSize, Duration.ofSeconds(ttlSeconds));
+        caches.put(name, cache);
+        return cache;
+    }
+
+    public Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        caches.keySet().stream().sorted().forEach(name -> stats.put(name, caches.get(name).stats()));
+        return stats;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.service;
+
+import com.example.demo.config.SecondLevelCacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Region statistics and manual eviction for the Hibernate second-level cache. Writes that go
+ * straight through JDBC (dataset ingestion, the startup loaders) are invisible to Hibernate,
+ * so they must evict the affected regions themselves.
+ */
+@Service
+public class SecondLevelCacheService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Drop an entity's cached rows and every cached query result after a JDBC write to its table
+    public void evict(Class<?> entityClass) {
+        entityManagerFactory.getCache().evict(entityClass);
+        sessionFactory().getCache().evictQueryRegions();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Statistics statistics = sessionFactory().getStatistics();
+        stats.put("enabled", statistics.isStatisticsEnabled()
+                && sessionFactory().getSessionFactoryOptions().isSecondLevelCacheEnabled());
+        if (!(Boolean) stats.get("enabled")) {
+            return stats;
+        }
+        stats.put("secondLevelHits", statistics.getSecondLevelCacheHitCount());
+        stats.put("secondLevelMisses", statistics.getSecondLevelCacheMissCount());
+        stats.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        stats.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : SecondLevelCacheConfig.REGIONS) {
+            CacheRegionStatistics regionStats = statistics.getCacheRegionStatistics(region);
+            if (regionStats == null) continue;
+            Map<String, Object> values = new LinkedHashMap<>();
+            long requests = regionStats.getHitCount() + regionStats.getMissCount();
+            values.put("hits", regionStats.getHitCount());
+            values.put("misses", regionStats.getMissCount());
+            values.put("puts", regionStats.getPutCount());
+            values.put("hitRate", requests == 0 ? 0.0 : (double) regionStats.getHitCount() / requests);
+            values.put("elementsInMemory", regionStats.getElementCountInMemory());
+            regions.put(region, values);
+        }
+        stats.put("regions", regions);
+        return stats;
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
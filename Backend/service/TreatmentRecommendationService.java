@@ -0,0 +1,138 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MedicationPrediction;
+import com.example.demo.dto.MedicationRequest;
+import com.example.demo.dto.TreatmentRecommendationDTO;
+import com.example.demo.model.DrugInteraction;
+import com.example.demo.repository.VisitRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The whole recommend-treatment flow in one call: model prediction, description of the
+ * recommended ingredient, and its known interactions with the medicines prescribed at the
+ * patient's recent visits. The description and the interaction check need the predicted medicine,
+ * so the independent leg, loading the patient's prescriptions, runs alongside the prediction;
+ * the other two are in-memory lookups done once the prediction is in.
+ */
+@Service
+public class TreatmentRecommendationService {
+
+    @Autowired
+    private MedicationPredictionService medicationPredictionService;
+
+    @Autowired
+    private ActiveIngredientDictionary activeIngredientDictionary;
+
+    @Autowired
+    private DrugInteractionService drugInteractionService;
+
+    @Autowired
+    private VisitRepository visitRepository;
+
+    // Visits whose prescriptions count as the patient's current medicines
+    @Value("${medica.treatment.recent-visits:5}")
+    private int recentVisits;
+
+    // How long the prescription lookup may run once a worker has picked it up; time spent queued is
+    // bounded by the queue instead (a full queue makes the request thread run the lookup itself)
+    @Value("${medica.treatment.lookup-timeout-ms:2000}")
+    private long lookupTimeoutMs;
+
+    private final ThreadPoolExecutor executor;
+
+    public TreatmentRecommendationService(@Value("${medica.treatment.workers:4}") int workers,
+                                          @Value("${medica.treatment.queue-capacity:8}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        // When the pool is saturated the request thread loads the prescriptions itself
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "treatment-lookup-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // 200 with a TreatmentRecommendationDTO, or the prediction's error response; patientId may be null
+    public ResponseEntity<?> recommend(MedicationRequest request, Long patientId) {
+        CompletableFuture<List<String>> currentMedicines = patientId == null
+                ? CompletableFuture.completedFuture(List.of())
+                : startLookup(patientId);
+
+        ResponseEntity<?> predicted = medicationPredictionService.predict(request);
+        if (!predicted.getStatusCode().is2xxSuccessful() || !(predicted.getBody() instanceof MedicationPrediction)) {
+            currentMedicines.cancel(false);
+            return predicted;
+        }
+        MedicationPrediction prediction = (MedicationPrediction) predicted.getBody();
+        String medicine = prediction.getMedicine();
+        String description = activeIngredientDictionary.getDescription(medicine).orElse(null);
+
+        List<String> medicines;
+        try {
+            medicines = currentMedicines.join();
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof TimeoutException)) {
+                throw e;
+            }
+            // No answer without the interaction check: an empty list would read as "no interactions"
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("detail",
+                    "Could not load the patient's current medicines in time, please try again"));
+        }
+        List<DrugInteraction> interactions = new ArrayList<>();
+        for (String current : medicines) {
+            interactions.addAll(drugInteractionService.checkInteraction(medicine, current));
+        }
+        return ResponseEntity.ok(new TreatmentRecommendationDTO(medicine, prediction.getModelVersion(),
+                description, medicines, interactions));
+    }
+
+    // The deadline starts inside the task, so a lookup is never timed out while it waits for a worker
+    private CompletableFuture<List<String>> startLookup(Long patientId) {
+        CompletableFuture<List<String>> lookup = new CompletableFuture<>();
+        executor.execute(() -> {
+            if (lookup.isDone()) return; // cancelled while queued: the prediction already failed
+            lookup.orTimeout(lookupTimeoutMs, TimeUnit.MILLISECONDS);
+            try {
+                lookup.complete(currentMedicines(patientId));
+            } catch (RuntimeException e) {
+                lookup.completeExceptionally(e);
+            }
+        });
+        return lookup;
+    }
+
+    // Distinct (case-insensitive) medicines of the recent visits, newest first
+    private List<String> currentMedicines(Long patientId) {
+        Map<String, String> distinct = new LinkedHashMap<>();
+        for (String medicine : visitRepository.findRecentPrescriptions(patientId, PageRequest.of(0, recentVisits))) {
+            if (!medicine.isBlank()) {
+                distinct.putIfAbsent(medicine.trim().toLowerCase(Locale.ROOT), medicine.trim());
+            }
+        }
+        return List.copyOf(distinct.values());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
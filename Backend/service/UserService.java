@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
@@ -34,6 +35,11 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    // Same rows as getAllUsers(), read one at a time; consume inside a transaction
+    public Stream<User> streamAllUsers() {
+        return userRepository.streamAll();
+    }
+
   //  @Override
     public boolean existsById(Long id) {
         return userRepository.existsById(id);
@@ -1,12 +1,22 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.VisitTimelineDTO;
 import com.example.demo.model.Visit;
 import com.example.demo.repository.VisitRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 public class VisitService {
@@ -14,9 +24,14 @@ public class VisitService {
     @Autowired
     private VisitRepository visitRepository;
 
+    @Autowired
+    private DoctorDashboardService doctorDashboardService;
+
     // Save a new visit
     public Visit saveVisit(Visit visit) {
-        return visitRepository.save(visit);
+        Visit saved = visitRepository.save(visit);
+        doctorDashboardService.visitSaved(saved);
+        return saved;
     }
 
     // Get all visits for a specific patient
@@ -26,6 +41,58 @@ public class VisitService {
 
 
 
+    // One timeline page for a patient, visits without a date first; after is decodeTimelineCursor()
+    // of the previous page's cursor
+    public Stream<VisitTimelineDTO> streamTimeline(Long patientId, Object[] after, int size) {
+        PageRequest limit = PageRequest.of(0, size);
+        if (after != null && after[0] != null) {
+            return visitRepository.streamTimeline(patientId, (LocalDate) after[0], (Long) after[1], limit);
+        }
+        // Still among the undated visits: the dated ones follow, queried only if this page reaches them
+        Stream<VisitTimelineDTO> undated = visitRepository.streamUndatedTimeline(patientId,
+                after != null ? (Long) after[1] : null, limit);
+        Supplier<Stream<VisitTimelineDTO>> dated = () -> visitRepository.streamTimeline(patientId, null, null, limit);
+        return Stream.concat(undated, Stream.of(dated).flatMap(Supplier::get)).limit(size);
+    }
+
+    // Opaque cursor for a row: base64url of "yyyy-MM-dd:<id>", or of "<id>" for a visit without a date
+    public String timelineCursor(VisitTimelineDTO visit) {
+        String raw = visit.getVisitDate() != null ? visit.getVisitDate() + ":" + visit.getId() : String.valueOf(visit.getId());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // [visitDate (null for an undated visit), id] of the row a cursor points at, or null for no cursor
+    public Object[] decodeTimelineCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 2);
+            if (parts.length == 1) {
+                return new Object[]{null, Long.valueOf(parts[0])};
+            }
+            return new Object[]{LocalDate.parse(parts[0]), Long.valueOf(parts[1])};
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page cursor.");
+        }
+    }
+
+    // A doctor's visits between two dates (both inclusive), oldest first
+    public Stream<VisitTimelineDTO> streamDoctorVisits(Long doctorId, LocalDate from, LocalDate to) {
+        return visitRepository.streamByDoctorBetween(doctorId, from, to);
+    }
+
+    // Visits with a diagnosis between two dates (both inclusive), oldest first
+    public Stream<VisitTimelineDTO> streamDiagnosisVisits(String diagnosis, LocalDate from, LocalDate to) {
+        return visitRepository.streamByDiagnosisBetween(diagnosis.trim(), from, to);
+    }
+
+    // Call before streaming so a bad range is still a plain 400
+    public void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must not be after 'to'.");
+        }
+    }
+
     // Get a visit by ID
     public Optional<Visit> getVisitById(Long visitId) {
         return visitRepository.findById(visitId);
@@ -34,6 +101,7 @@ public class VisitService {
     // Delete a visit by ID
     public void deleteVisit(Long visitId) {
         visitRepository.deleteById(visitId);
+        doctorDashboardService.visitDeleted(visitId);
     }
 }
 
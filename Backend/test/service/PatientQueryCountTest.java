@@ -0,0 +1,124 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.PatientSummaryDTO;
+import com.example.demo.model.Patient;
+import com.example.demo.model.Role;
+import com.example.demo.model.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The patient listings must cost the same number of statements whatever the number of patients:
+ * each list is measured with a small and a large panel. Lists that span doctors get patients with
+ * a doctor of their own, so a select per doctor would show up as extra statements.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(PatientService.class)
+class PatientQueryCountTest {
+
+    private static final int SMALL = 3;
+    private static final int LARGE = 30;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private DoctorDashboardService doctorDashboardService;
+
+    private Statistics statistics;
+    private int created;
+    private int doctors;
+    private User panelDoctor;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        panelDoctor = doctor();
+    }
+
+    @Test
+    void patientsByDoctorIdUseConstantStatements() {
+        addPatients(SMALL, true);
+        long small = statementsFor(() -> touchDoctors(patientService.getPatientsByDoctorId(panelDoctor.getId())));
+        addPatients(LARGE - SMALL, true);
+        long large = statementsFor(() -> touchDoctors(patientService.getPatientsByDoctorId(panelDoctor.getId())));
+        assertEquals(small, large);
+    }
+
+    @Test
+    void allPatientsUseConstantStatements() {
+        addPatients(SMALL, false);
+        long small = statementsFor(() -> touchDoctors(patientService.getAllPatients()));
+        addPatients(LARGE - SMALL, false);
+        long large = statementsFor(() -> touchDoctors(patientService.getAllPatients()));
+        assertEquals(small, large);
+    }
+
+    @Test
+    void summariesUseConstantStatements() {
+        addPatients(SMALL, true);
+        long[] small = summaryStatements();
+        addPatients(LARGE - SMALL, true);
+        addPatients(LARGE - SMALL, false);
+        long[] large = summaryStatements();
+        assertEquals(small[0], large[0], "/assigned");
+        assertEquals(small[1], large[1], "/getAllPatients");
+    }
+
+    // Statements of the /assigned and the streamed /getAllPatients listings
+    private long[] summaryStatements() {
+        long assigned = statementsFor(() -> patientService.getPatientSummariesByDoctorId(panelDoctor.getId())
+                .forEach(PatientSummaryDTO::getDoctorName));
+        long all = statementsFor(() -> {
+            try (Stream<PatientSummaryDTO> rows = patientService.streamAllPatientSummaries()) {
+                rows.forEach(PatientSummaryDTO::getDoctorName);
+            }
+        });
+        return new long[]{assigned, all};
+    }
+
+    private long statementsFor(Runnable listing) {
+        entityManager.flush();
+        entityManager.clear(); // nothing may be served from the persistence context
+        statistics.clear();
+        listing.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static void touchDoctors(List<Patient> patients) {
+        patients.forEach(patient -> patient.getDoctor().getFullName());
+    }
+
+    // count patients, all under panelDoctor or each under a doctor of its own
+    private void addPatients(int count, boolean samePanel) {
+        for (int i = 0; i < count; i++) {
+            Patient patient = new Patient("Patient " + created, "A+", 40, String.format("01%09d", created), null, "Male");
+            patient.setDoctor(samePanel ? panelDoctor : doctor());
+            entityManager.persist(patient);
+            created++;
+        }
+    }
+
+    private User doctor() {
+        int n = ++doctors;
+        User doctor = new User("Doctor " + n, "doctor" + n + "@example.com", "secret", Role.DOCTOR,
+                String.format("02%09d", n));
+        entityManager.persist(doctor);
+        return doctor;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.util;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Consecutive-failure circuit breaker. After failureThreshold failures in a row the circuit opens
+ * and calls are rejected without being attempted; once openDuration has passed a single trial call
+ * is let through (half-open), which closes the circuit on success or reopens it on failure.
+ * Every permit from tryAcquire() must be handed back to onSuccess() or onFailure(). A permit is
+ * stamped with the circuit's generation, which changes on every state change, so a slow call that
+ * started before the circuit opened or closed cannot change the state when it finally returns.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // Returned by tryAcquire() when the call must not be made
+    public static final long NO_PERMIT = -1;
+
+    private final String name;
+    private final int failureThreshold;
+    private final Duration openDuration;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long generation;
+    private long successes;
+    private long failures;
+    private long rejected;
+    private long opened;
+    private long stale;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    // A permit for a call that may go ahead now, or NO_PERMIT
+    public synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openDuration.toNanos()) {
+                rejected++;
+                return NO_PERMIT;
+            }
+            transition(State.HALF_OPEN);
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                rejected++;
+                return NO_PERMIT;
+            }
+            trialInFlight = true;
+        }
+        return generation;
+    }
+
+    public synchronized void onSuccess(long permit) {
+        successes++;
+        if (permit != generation) {
+            stale++;
+            return;
+        }
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+            transition(State.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure(long permit) {
+        failures++;
+        if (permit != generation) {
+            stale++;
+            return;
+        }
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            trialInFlight = false;
+            transition(State.OPEN);
+            openedAt = System.nanoTime();
+            consecutiveFailures = 0;
+            opened++;
+        }
+    }
+
+    // Every state change starts a new generation, invalidating the permits handed out before it
+    private void transition(State next) {
+        state = next;
+        generation++;
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", state);
+        stats.put("failureThreshold", failureThreshold);
+        stats.put("openSeconds", openDuration.getSeconds());
+        stats.put("successes", successes);
+        stats.put("failures", failures);
+        stats.put("rejected", rejected);
+        stats.put("timesOpened", opened);
+        stats.put("staleResults", stale);
+        return stats;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.util;
+
+import java.io.IOException;
+
+// Thrown by CsvReader for a malformed row; the reader has already skipped past it
+public class CsvFormatException extends IOException {
+
+    private final long lineNumber;
+    private final String reason;
+
+    public CsvFormatException(long lineNumber, String reason) {
+        super("line " + lineNumber + ": " + reason);
+        this.lineNumber = lineNumber;
+        this.reason = reason;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
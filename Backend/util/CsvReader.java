@@ -0,0 +1,161 @@
+package com.example.demo.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader. Quoted fields may contain commas, doubled quotes
+ * and line breaks. Characters are read through a fixed buffer and one record is
+ * held at a time, so memory stays bounded by maxRecordLength whatever the input size.
+ * A malformed row raises CsvFormatException with its line number; the reader
+ * resumes at the following line, so callers can report the row and keep going.
+ */
+public class CsvReader implements Closeable {
+
+    public static final int DEFAULT_MAX_RECORD_LENGTH = 100_000;
+
+    private final Reader reader;
+    private final int maxRecordLength;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    private long line = 1;       // physical line of the next character
+    private long recordLine = 1; // physical line where the last record started
+
+    // Reused between records to keep per-row allocation to the field strings
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+
+    public CsvReader(Reader reader) {
+        this(reader, DEFAULT_MAX_RECORD_LENGTH);
+    }
+
+    public CsvReader(Reader reader, int maxRecordLength) {
+        this.reader = reader;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    // Next record's fields, or null at end of input
+    public String[] readRecord() throws IOException {
+        if (peek() == -1) {
+            return null;
+        }
+        fields.clear();
+        field.setLength(0);
+        recordLine = line;
+        boolean quoted = false;      // inside a quoted field
+        boolean afterQuote = false;  // quoted field closed, only a separator may follow
+        int length = 0;
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (quoted) {
+                    throw new CsvFormatException(recordLine, "unterminated quoted field");
+                }
+                return endRecord();
+            }
+            if (++length > maxRecordLength) {
+                skipLine();
+                throw new CsvFormatException(recordLine, "row longer than " + maxRecordLength + " characters");
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        afterQuote = true;
+                    }
+                } else {
+                    if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                afterQuote = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                line++;
+                return endRecord();
+            } else if (afterQuote) {
+                skipLine();
+                throw new CsvFormatException(recordLine, "unexpected character after closing quote");
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    // Line on which the most recently returned record started
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String[] endRecord() {
+        fields.add(field.toString());
+        field.setLength(0);
+        return fields.toArray(new String[0]);
+    }
+
+    // Discard the rest of the current physical line after a malformed row
+    private void skipLine() throws IOException {
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                line++;
+                return;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position >= limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        int n = reader.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            eof = true;
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+}
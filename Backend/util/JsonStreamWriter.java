@@ -0,0 +1,106 @@
+package com.example.demo.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes rows from a JPA Stream straight to the response with Jackson's JsonGenerator,
+ * so a response never holds the whole result in memory. The stream is consumed inside
+ * a read-only transaction, and the persistence context is cleared as rows go out.
+ */
+@Component
+public class JsonStreamWriter {
+
+    // Rows between persistence-context clears
+    private static final int CLEAR_EVERY = 500;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // [row, row, ...]
+    public <T> StreamingResponseBody array(Supplier<Stream<T>> rows) {
+        return out -> write(out, json -> {
+            json.writeStartArray();
+            try (Stream<T> stream = rows.get()) {
+                writeRows(json, stream, row -> { });
+            }
+            json.writeEndArray();
+        });
+    }
+
+    // {"items": [row, ...], "nextCursor": cursor of the last row, or null when this is the last page}
+    public <T> StreamingResponseBody page(Supplier<Stream<T>> rows, int pageSize, Function<T, Object> cursorOf) {
+        return out -> write(out, json -> {
+            Object[] last = new Object[1];
+            int[] count = new int[1];
+            json.writeStartObject();
+            json.writeArrayFieldStart("items");
+            try (Stream<T> stream = rows.get()) {
+                writeRows(json, stream, row -> {
+                    last[0] = cursorOf.apply(row);
+                    count[0]++;
+                });
+            }
+            json.writeEndArray();
+            json.writeObjectField("nextCursor", count[0] == pageSize ? last[0] : null);
+            json.writeEndObject();
+        });
+    }
+
+    private <T> void writeRows(JsonGenerator json, Stream<T> stream, Consumer<T> onRow) {
+        int[] written = new int[1];
+        stream.forEach(row -> {
+            try {
+                json.writeObject(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            onRow.accept(row);
+            if (++written[0] % CLEAR_EVERY == 0) {
+                entityManager.clear();
+            }
+        });
+    }
+
+    private void write(OutputStream out, JsonBody body) throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            transaction.executeWithoutResult(status -> {
+                try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                    json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // the container owns the response stream
+                    body.write(json);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface JsonBody {
+        void write(JsonGenerator json) throws IOException;
+    }
+}
@@ -1,56 +1,165 @@
 package com.example.demo.util;
 
-import com.example.demo.model.Medicine;
+import com.example.demo.model.DatasetLoad;
+import com.example.demo.repository.DatasetLoadRepository;
 import com.example.demo.repository.MedicineRepository;
-import com.opencsv.CSVReader;
-import jakarta.annotation.PostConstruct;
+import com.example.demo.service.MedicineSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Seeds the medicines table from /medicine_dataset.csv. Rows are streamed and written in
+ * JDBC batches once the application is up, by default on a background thread, so the rest
+ * of the API is available while the load runs. Completion is recorded in a dataset_loads
+ * marker row; a load that stopped partway is resumed on the next start by skipping the rows
+ * already inserted (rows are inserted in file order). isReady() turns true once the marker
+ * exists.
+ */
 @Component
 public class MedicineCSVLoader {
 
+    private static final Logger logger = LoggerFactory.getLogger(MedicineCSVLoader.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO medicines (name, substitute0, substitute1, sideeffect0, sideeffect1, sideeffect2, " +
+            "use0, use1, use2) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int PROGRESS_EVERY = 50_000;
+
+    private static final String DATASET_NAME = "medicine_dataset.csv";
+
     @Autowired
     private MedicineRepository medicineRepository;
 
-    @PostConstruct
-    public void loadMedicines() {
-        try {
-            if (medicineRepository.count() > 0) {
-                return; // Prevents duplicate loading
-            }
+    @Autowired
+    private DatasetLoadRepository datasetLoadRepository;
 
-            Reader reader = new InputStreamReader(getClass().getResourceAsStream("/medicine_dataset.csv"));
-            CSVReader csvReader = new CSVReader(reader);
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
-            List<String[]> records = csvReader.readAll();
-            records.remove(0); // Remove header
+    @Autowired
+    private MedicineSearchIndex searchIndex;
+
+    @Autowired
+    private MedicineService medicineService;
+
+    @Value("${medica.medicine-loader.background:true}")
+    private boolean background;
 
-            for (String[] row : records) {
-                Medicine med = new Medicine();
+    @Value("${medica.medicine-loader.batch-size:1000}")
+    private int batchSize;
 
-                med.setName(row[1]);
-                med.setSubstitute0(row[2].isEmpty() ? null : row[2]);
-                med.setSubstitute1(row[3].isEmpty() ? null : row[3]);
+    private volatile boolean ready;
+    private volatile long rowsLoaded;
 
-                med.setSideeffect0(row[4].isEmpty() ? null : row[4]);
-                med.setSideeffect1(row[5].isEmpty() ? null : row[5]);
-                med.setSideeffect2(row[6].isEmpty() ? null : row[6]);
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (datasetLoadRepository.existsById(DATASET_NAME)) {
+            ready = true; // Prevents duplicate loading
+            return;
+        }
+        if (background) {
+            Thread thread = new Thread(this::loadMedicines, "medicine-csv-loader");
+            thread.setDaemon(true);
+            thread.start();
+        } else {
+            loadMedicines();
+        }
+    }
 
-                med.setUse0(row[7].isEmpty() ? null : row[7]);
-                med.setUse1(row.length > 8 && !row[8].isEmpty() ? row[8] : null);
-                med.setUse2(row.length > 9 && !row[9].isEmpty() ? row[9] : null);
+    public void loadMedicines() {
+        long start = System.currentTimeMillis();
+        int skipped = 0;
+        // Rows of an interrupted earlier load are already in the table
+        long alreadyLoaded = medicineRepository.countByCompanyIsNull();
+        long toSkip = alreadyLoaded;
+        if (alreadyLoaded > 0) {
+            logger.info("Resuming medicine dataset load after {} rows", alreadyLoaded);
+        }
+        try (CsvReader csv = new CsvReader(new InputStreamReader(
+                getClass().getResourceAsStream("/medicine_dataset.csv"), StandardCharsets.UTF_8))) {
 
-                medicineRepository.save(med);
+            csv.readRecord(); // Skip header
+            List<Object[]> batch = new ArrayList<>(batchSize);
+            String[] row;
+            while ((row = nextRow(csv)) != null) {
+                if (row.length < 8) {
+                    skipped++;
+                    continue;
+                }
+                if (toSkip > 0) {
+                    toSkip--;
+                    continue;
+                }
+                batch.add(new Object[]{
+                        row[1],
+                        emptyToNull(row, 2), emptyToNull(row, 3),
+                        emptyToNull(row, 4), emptyToNull(row, 5), emptyToNull(row, 6),
+                        emptyToNull(row, 7), emptyToNull(row, 8), emptyToNull(row, 9)
+                });
+                if (batch.size() >= batchSize) {
+                    flush(batch, start);
+                }
             }
+            flush(batch, start);
 
-            csvReader.close();
+            long elapsed = Math.max(1, System.currentTimeMillis() - start);
+            logger.info("Loaded {} medicines in {} ms ({} rows/sec), {} malformed rows skipped",
+                    rowsLoaded, elapsed, rowsLoaded * 1000 / elapsed, skipped);
+            datasetLoadRepository.save(new DatasetLoad(DATASET_NAME, alreadyLoaded + rowsLoaded, LocalDateTime.now()));
+            searchIndex.rebuild();
+            medicineService.invalidateMedicineCache();
+            ready = true;
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Medicine dataset load failed after {} rows: {}", rowsLoaded, e.getMessage(), e);
         }
     }
+
+    // Whether the medicines table has been seeded and medicine lookups are complete
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getRowsLoaded() {
+        return rowsLoaded;
+    }
+
+    private String[] nextRow(CsvReader csv) throws IOException {
+        while (true) {
+            try {
+                return csv.readRecord();
+            } catch (CsvFormatException e) {
+                logger.warn("Skipping medicine dataset row: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void flush(List<Object[]> batch, long start) {
+        if (batch.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        long before = rowsLoaded;
+        rowsLoaded += batch.size();
+        batch.clear();
+        if (rowsLoaded / PROGRESS_EVERY != before / PROGRESS_EVERY) {
+            long elapsed = Math.max(1, System.currentTimeMillis() - start);
+            logger.info("Medicine dataset load: {} rows ({} rows/sec)", rowsLoaded, rowsLoaded * 1000 / elapsed);
+        }
+    }
+
+    private static String emptyToNull(String[] row, int index) {
+        return row.length > index && !row[index].isEmpty() ? row[index] : null;
+    }
 }
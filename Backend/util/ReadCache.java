@@ -0,0 +1,131 @@
+package com.example.demo.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Small read-through cache for reference data: LRU bounded by maxSize, entries expire after ttl,
+ * hit/miss/eviction counters for the stats endpoint. Loaders run outside the lock; a value whose
+ * load started before an invalidation is returned to its caller but not stored, and invalidations
+ * made inside a transaction are repeated after commit, so a cached value is never older than the
+ * last committed write that invalidated it.
+ */
+public class ReadCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final Duration ttl;
+
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ReadCache(String name, int maxSize, Duration ttl) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ReadCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Cached value for key, or loader's value (stored unless null or invalidated meanwhile)
+    public V get(K key, Function<K, V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                hits++;
+                return entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    entries.put(key, new Entry<>(value, System.nanoTime() + ttl.toNanos()));
+                }
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        remove(key);
+        afterCommit(() -> remove(key));
+    }
+
+    public void invalidateAll() {
+        clear();
+        afterCommit(this::clear);
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long requests = hits + misses;
+        stats.put("size", entries.size());
+        stats.put("maxSize", maxSize);
+        stats.put("ttlSeconds", ttl.getSeconds());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hits / requests);
+        stats.put("evictions", evictions);
+        return stats;
+    }
+
+    private synchronized void remove(K key) {
+        entries.remove(key);
+        generation++;
+    }
+
+    private synchronized void clear() {
+        entries.clear();
+        generation++;
+    }
+
+    // Repeat an invalidation once the surrounding transaction (if any) has committed
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
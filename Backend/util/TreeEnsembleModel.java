@@ -0,0 +1,223 @@
+package com.example.demo.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gradient-boosted tree ensemble exported by "Machine learning/export_medicine_model.py".
+ * All trees are packed into flat node arrays so scoring is a few array reads per tree with no
+ * allocation besides the margin vector; categorical values are mapped to their LabelEncoder
+ * codes through per-feature vocabularies built once at load time. Instances are immutable.
+ */
+public class TreeEnsembleModel {
+
+    private final String version;
+    private final List<String> features;
+    private final List<Map<String, Integer>> vocabularies; // per feature, null for numeric features
+    private final List<String> classes;
+    private final int numOutputs;
+    private final float baseMargin;
+
+    // Node arrays for all trees; a node is a leaf when feature[node] < 0
+    private final int[] treeRoot;
+    private final int[] treeOutput;
+    private final int[] feature;
+    private final float[] threshold;
+    private final int[] yes;
+    private final int[] no;
+    private final int[] missing;
+    private final float[] value;
+
+    private TreeEnsembleModel(Builder builder) {
+        this.version = builder.version;
+        this.features = List.copyOf(builder.features);
+        this.vocabularies = Collections.unmodifiableList(new ArrayList<>(builder.vocabularies));
+        this.classes = List.copyOf(builder.classes);
+        this.numOutputs = builder.numOutputs;
+        this.baseMargin = builder.baseMargin;
+        this.treeRoot = builder.treeRoot;
+        this.treeOutput = builder.treeOutput;
+        this.feature = builder.feature;
+        this.threshold = builder.threshold;
+        this.yes = builder.yes;
+        this.no = builder.no;
+        this.missing = builder.missing;
+        this.value = builder.value;
+    }
+
+    public static Builder builder(String version, List<String> features, List<String> classes, int numOutputs,
+                                  float baseMargin) {
+        return new Builder(version, features, classes, numOutputs, baseMargin);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public List<String> getFeatures() {
+        return features;
+    }
+
+    public List<String> getClasses() {
+        return classes;
+    }
+
+    public int getTreeCount() {
+        return treeRoot.length;
+    }
+
+    public int featureIndex(String name) {
+        int index = features.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Model has no feature '" + name + "'");
+        }
+        return index;
+    }
+
+    // LabelEncoder code of a categorical value, or -1 if the model never saw it
+    public int encode(int featureIndex, String category) {
+        Map<String, Integer> vocabulary = vocabularies.get(featureIndex);
+        if (vocabulary == null) {
+            throw new IllegalArgumentException("Feature '" + features.get(featureIndex) + "' is not categorical");
+        }
+        Integer code = vocabulary.get(category);
+        return code != null ? code : -1;
+    }
+
+    // Index into getClasses() of the predicted class; NaN in x means missing
+    public int predict(float[] x) {
+        if (x.length != features.size()) {
+            throw new IllegalArgumentException("Expected " + features.size() + " features, got " + x.length);
+        }
+        float[] margins = new float[numOutputs];
+        Arrays.fill(margins, baseMargin);
+        for (int tree = 0; tree < treeRoot.length; tree++) {
+            int node = treeRoot[tree];
+            while (feature[node] >= 0) {
+                float v = x[feature[node]];
+                node = Float.isNaN(v) ? missing[node] : v < threshold[node] ? yes[node] : no[node];
+            }
+            margins[treeOutput[tree]] += value[node];
+        }
+        if (numOutputs == 1) {
+            return margins[0] > 0 ? 1 : 0;
+        }
+        int best = 0;
+        for (int i = 1; i < numOutputs; i++) {
+            if (margins[i] > margins[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    public static final class Builder {
+        private final String version;
+        private final List<String> features;
+        private final List<Map<String, Integer>> vocabularies;
+        private final List<String> classes;
+        private final int numOutputs;
+        private final float baseMargin;
+
+        private int[] treeRoot = new int[0];
+        private int[] treeOutput = new int[0];
+        private int[] feature = new int[0];
+        private float[] threshold = new float[0];
+        private int[] yes = new int[0];
+        private int[] no = new int[0];
+        private int[] missing = new int[0];
+        private float[] value = new float[0];
+
+        private Builder(String version, List<String> features, List<String> classes, int numOutputs, float baseMargin) {
+            if (numOutputs != 1 && numOutputs != classes.size()) {
+                throw new IllegalArgumentException("numOutputs " + numOutputs + " does not match " + classes.size() + " classes");
+            }
+            this.version = version;
+            this.features = features;
+            this.classes = classes;
+            this.numOutputs = numOutputs;
+            this.baseMargin = baseMargin;
+            this.vocabularies = new ArrayList<>(Collections.nCopies(features.size(), null));
+        }
+
+        // Category list in LabelEncoder order: the i-th category is encoded as i
+        public Builder vocabulary(String featureName, List<String> categories) {
+            int index = features.indexOf(featureName);
+            if (index < 0) {
+                throw new IllegalArgumentException("Model has no feature '" + featureName + "'");
+            }
+            Map<String, Integer> codes = new HashMap<>();
+            for (int i = 0; i < categories.size(); i++) {
+                codes.putIfAbsent(categories.get(i), i);
+            }
+            vocabularies.set(index, Map.copyOf(codes));
+            return this;
+        }
+
+        // One tree in the exported layout; child indices are local to the tree
+        public Builder tree(int output, int[] feature, float[] threshold, int[] yes, int[] no, int[] missing, float[] value) {
+            int size = feature.length;
+            if (threshold.length != size || yes.length != size || no.length != size || missing.length != size
+                    || value.length != size || size == 0) {
+                throw new IllegalArgumentException("Tree " + treeRoot.length + " has inconsistent node arrays");
+            }
+            if (output < 0 || output >= numOutputs) {
+                throw new IllegalArgumentException("Tree " + treeRoot.length + " has invalid output " + output);
+            }
+            int offset = this.feature.length;
+            for (int node = 0; node < size; node++) {
+                if (feature[node] < 0) continue;
+                if (feature[node] >= features.size() || !isChild(node, yes[node], size)
+                        || !isChild(node, no[node], size) || !isChild(node, missing[node], size)) {
+                    throw new IllegalArgumentException("Tree " + treeRoot.length + " has an invalid split at node " + node);
+                }
+            }
+            treeRoot = append(treeRoot, offset);
+            treeOutput = append(treeOutput, output);
+            this.feature = concat(this.feature, feature, 0);
+            this.threshold = concat(this.threshold, threshold);
+            this.yes = concat(this.yes, yes, offset);
+            this.no = concat(this.no, no, offset);
+            this.missing = concat(this.missing, missing, offset);
+            this.value = concat(this.value, value);
+            return this;
+        }
+
+        public TreeEnsembleModel build() {
+            if (treeRoot.length == 0) {
+                throw new IllegalArgumentException("Model has no trees");
+            }
+            return new TreeEnsembleModel(this);
+        }
+
+        // Children must come after their parent, which also guarantees every walk reaches a leaf
+        private static boolean isChild(int parent, int child, int size) {
+            return child > parent && child < size;
+        }
+
+        private static int[] append(int[] array, int element) {
+            int[] result = Arrays.copyOf(array, array.length + 1);
+            result[array.length] = element;
+            return result;
+        }
+
+        // Appends tail, shifting its non-negative entries by offset (tree-local to global node indices)
+        private static int[] concat(int[] head, int[] tail, int offset) {
+            int[] result = Arrays.copyOf(head, head.length + tail.length);
+            for (int i = 0; i < tail.length; i++) {
+                result[head.length + i] = tail[i] < 0 ? tail[i] : tail[i] + offset;
+            }
+            return result;
+        }
+
+        private static float[] concat(float[] head, float[] tail) {
+            float[] result = Arrays.copyOf(head, head.length + tail.length);
+            System.arraycopy(tail, 0, result, head.length, tail.length);
+            return result;
+        }
+    }
+}
@@ -38,15 +38,8 @@ export default function DrugInteractivityPage() {
   const fetchSuggestions = async (query, forDrug) => {
     if (query.trim().length < 2) return;
     try {
-      const res = await fetch(`http://localhost:8082/api/interactions/search?name=${encodeURIComponent(query)}`);
-      const data = await res.json();
-
-      const allDrugs = [
-        ...new Set(
-          data.flatMap(d => [d.drug1, d.drug2])
-            .filter(name => name?.toLowerCase().startsWith(query.toLowerCase()))
-        )
-      ];
+      const res = await fetch(`http://localhost:8082/api/interactions/suggest?name=${encodeURIComponent(query)}`);
+      const allDrugs = await res.json();
 
       if (forDrug === 'drug1') setSuggestions1(allDrugs);
       else setSuggestions2(allDrugs);
@@ -190,14 +190,14 @@ export default function MedicineSuitability() {
     };
 
     try {
-      const response = await fetch('http://localhost:8083/predictImprovement', {
+      const response = await fetch('http://localhost:8082/api/recommendations/improvement', {
         method: 'POST',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify(payload)
       });
 
       const data = await response.json();
-      if (!response.ok) throw new Error(data.message || 'Prediction failed.');
+      if (!response.ok) throw new Error(data.detail || data.error || data.message || 'Prediction failed.');
 
       setPredictionResult(data.prediction || 'N/A');
       setImprovementProbability(
@@ -129,11 +129,18 @@ export default function PatientInfoPage() {
     <h2 className="text-3xl sm:text-4xl font-bold text-blue-950 text-center sm:text-left">
       {patientData.name}
     </h2>
+    <div className="flex flex-col sm:flex-row gap-3">
+      <Link href={`/doctor/recommendTreatment?id=${btoa(patientId)}`}>
+        <button className="bg-blue-200 hover:bg-blue-300 text-blue-950 text-base sm:text-lg font-semibold px-5 py-3 rounded-xl shadow transition-all whitespace-nowrap cursor-pointer">
+          Recommend Treatment
+        </button>
+      </Link>
       <Link href={`/doctor/addPatientVisit?id=${btoa(patientId)}`}>
-      <button className="bg-blue-200 hover:bg-blue-300 text-blue-950 text-base sm:text-lg font-semibold px-5 py-3 rounded-xl shadow transition-all whitespace-nowrap cursor-pointer">
-        Add New Visit
-      </button>
-    </Link>
+        <button className="bg-blue-200 hover:bg-blue-300 text-blue-950 text-base sm:text-lg font-semibold px-5 py-3 rounded-xl shadow transition-all whitespace-nowrap cursor-pointer">
+          Add New Visit
+        </button>
+      </Link>
+    </div>
   </div>
 
 
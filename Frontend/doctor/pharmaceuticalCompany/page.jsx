@@ -41,12 +41,14 @@ export default function PharmaceuticalCompany() {
           const doctorId = localStorage.getItem('id');
           const favStatuses = {};
 
-          for (const company of data) {
-            try {
-              const res = await fetch(`http://localhost:8082/favorites/exists/${doctorId}/${company.id}`);
-              const isFav = await res.json();
-              favStatuses[company.id] = isFav;
-            } catch {
+          try {
+            const res = await fetch(`http://localhost:8082/favorites/${doctorId}`);
+            const favoriteIds = new Set(await res.json());
+            for (const company of data) {
+              favStatuses[company.id] = favoriteIds.has(company.id);
+            }
+          } catch {
+            for (const company of data) {
               favStatuses[company.id] = false;
             }
           }
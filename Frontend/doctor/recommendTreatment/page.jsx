@@ -2,7 +2,7 @@
 
 import Image from 'next/image';
 import { useEffect, useState } from 'react';
-import { useRouter } from 'next/navigation';
+import { useRouter, useSearchParams } from 'next/navigation';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 import { Outfit } from 'next/font/google';
 import { faRightFromBracket } from '@fortawesome/free-solid-svg-icons';
@@ -67,6 +67,11 @@ const SearchableDropdown = ({ label, options, value, onChange }) => {
 
 export default function RecommendedTreatment() {
   const router = useRouter();
+  // Opened from a patient's page: the recommendation is also checked against their recent prescriptions
+  const searchParams = useSearchParams();
+  const encodedId = searchParams.get('id');
+  const patientId = encodedId ? atob(encodedId) : null;
+  const [patient, setPatient] = useState(null);
   const [isAuthorized, setIsAuthorized] = useState(null);
   const [errorMessage, setErrorMessage] = useState('');
   const [age, setAge] = useState('');
@@ -76,6 +81,7 @@ export default function RecommendedTreatment() {
   const [chronic, setChronic] = useState('');
   const [recommendedMedicine, setRecommendedMedicine] = useState('');
   const [medicineDescription, setMedicineDescription] = useState('');
+  const [interactions, setInteractions] = useState([]);
 
   const allergyTypes = ['None', 'Penicillin', 'Sulfa', 'Statins', 'NSAIDs'];
   const chronicPool = ['None', 'CKD', 'COPD', 'CAD', 'Obesity', 'Liver Disease'];
@@ -107,6 +113,9 @@ export default function RecommendedTreatment() {
         const parsedDoctor = JSON.parse(storedDoctor);
         if (parsedDoctor?.id) {
           setIsAuthorized(true);
+          if (patientId) {
+            fetchPatient(patientId);
+          }
         } else {
           setIsAuthorized(false);
           setErrorMessage('Invalid doctor data. Please login again.');
@@ -119,7 +128,21 @@ export default function RecommendedTreatment() {
       setIsAuthorized(false);
       setErrorMessage("You can't access this page. Please login first.");
     }
-  }, []);
+  }, [patientId]);
+
+  // Prefills what the patient record holds; the doctor fills in the rest
+  const fetchPatient = async (id) => {
+    try {
+      const response = await fetch(`http://localhost:8082/api/patients/${id}`);
+      if (!response.ok) return;
+      const data = await response.json();
+      setPatient(data);
+      if (data.age != null) setAge(String(data.age));
+      if (genderOptions.includes(data.gender)) setGender(data.gender);
+    } catch (error) {
+      console.error('Failed to fetch patient data:', error);
+    }
+  };
 
   const handleLogout = () => {
     localStorage.removeItem('role');
@@ -131,14 +154,19 @@ export default function RecommendedTreatment() {
     e.preventDefault();
     setRecommendedMedicine('');
     setMedicineDescription('');
+    setInteractions([]);
 
     if (!age || !gender || !diagnosis || !allergies || !chronic) {
       setRecommendedMedicine('❗ Please fill in all the fields before submitting.');
       return;
     }
 
+    const url = patientId
+      ? `http://localhost:8082/api/recommendations/treatment?patientId=${encodeURIComponent(patientId)}`
+      : 'http://localhost:8082/api/recommendations/treatment';
+
     try {
-      const response = await fetch('http://localhost:8083/predict', {
+      const response = await fetch(url, {
         method: 'POST',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify({
@@ -156,21 +184,9 @@ export default function RecommendedTreatment() {
       }
 
       const data = await response.json();
-      const recommended = data.medicine;
-      setRecommendedMedicine(recommended);
-
-      try {
-        const descResponse = await fetch(`http://localhost:8082/api/ingredients/description?name=${encodeURIComponent(recommended)}`);
-        if (descResponse.ok) {
-          const descriptionText = await descResponse.text();
-          setMedicineDescription(descriptionText);
-        } else {
-          setMedicineDescription("No description available.");
-        }
-      } catch (err) {
-        console.error(err);
-        setMedicineDescription("Error fetching description.");
-      }
+      setRecommendedMedicine(data.medicine);
+      setMedicineDescription(data.description || "No description available.");
+      setInteractions(data.interactions || []);
 
     } catch (error) {
       console.error(error);
@@ -230,6 +246,18 @@ export default function RecommendedTreatment() {
 
       <h2 className="text-4xl font-extrabold text-blue-950 mb-15 mt-5">Recommend Treatment</h2>
 
+      {patientId ? (
+        patient && (
+          <p className="max-w-6xl mx-auto -mt-10 mb-4 text-lg text-gray-700">
+            For <span className="font-semibold text-blue-950">{patient.name}</span>: the recommendation is checked against the medicines prescribed at their recent visits.
+          </p>
+        )
+      ) : (
+        <p className="max-w-6xl mx-auto -mt-10 mb-4 text-base text-gray-600">
+          To check the recommendation against a patient&apos;s current medicines, open this page from the patient&apos;s profile.
+        </p>
+      )}
+
       <form onSubmit={handleSubmit} className="grid grid-cols-1 md:grid-cols-2 gap-6 max-w-6xl mx-auto bg-white/80 backdrop-blur-sm p-8 rounded-3xl shadow-md">
         <div>
           <label className="block text-blue-950 font-semibold text-lg mb-1">Age</label>
@@ -276,6 +304,18 @@ export default function RecommendedTreatment() {
                 <span className="font-bold">Description:</span>
                 <p className="mt-1">{medicineDescription}</p>
               </div>
+              {interactions.length > 0 && (
+                <div className="mt-4 max-w-2xl mx-auto text-red-700 text-base bg-red-50 p-4 rounded-xl shadow text-left">
+                  <span className="font-bold">⚠️ Interactions with current medicines:</span>
+                  <ul className="mt-1 list-disc list-inside">
+                    {interactions.map((interaction, index) => (
+                      <li key={index}>
+                        {interaction.drug1} + {interaction.drug2}: {interaction.interactionDescription}
+                      </li>
+                    ))}
+                  </ul>
+                </div>
+              )}
             </div>
           )}
         </div>
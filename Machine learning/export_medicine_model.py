@@ -0,0 +1,124 @@
+"""
+Export the medication model (predict_medicine_model.pkl, an XGBoost classifier) and its
+LabelEncoders (predict_medicine_encoders.pkl) to a portable JSON file that the Spring backend
+scores in-process (MedicationRecommender), so /predict no longer needs this Python service.
+
+Usage: python export_medicine_model.py [output.json]
+Copy the output to the backend classpath root (or point medica.recommender.model-location at it).
+
+Format:
+  features    feature order the model was trained on
+  encoders    per categorical feature, the LabelEncoder classes_; a value's code is its index
+  classes     medicine names, indexed by the model's class codes
+  numOutputs  1 for a binary model (margin > 0 means class 1), else one margin per class
+  baseMargin  margin every output starts from
+  trees       flattened trees: node i is a leaf when feature[i] == -1 (value[i] is added to
+              margin[output]); otherwise go to yes[i] if x < threshold[i], no[i] if not,
+              missing[i] if x is missing
+"""
+import hashlib
+import json
+import math
+import sys
+
+import joblib
+
+MODEL_FILE = "predict_medicine_model.pkl"
+ENCODERS_FILE = "predict_medicine_encoders.pkl"
+DEFAULT_OUTPUT = "predict_medicine_model.json"
+
+# Same order as the x vector built in main.py's /predict
+FEATURES = ["age", "gender", "diagnosis", "allergies", "chronic_conditions"]
+ENCODER_KEYS = {
+    "gender": "le_gender",
+    "diagnosis": "le_diag",
+    "allergies": "le_allergy",
+    "chronic_conditions": "le_chronic",
+}
+
+
+def model_version(path):
+    with open(path, "rb") as f:
+        return hashlib.sha256(f.read()).hexdigest()[:12]
+
+
+def feature_indexer(booster):
+    names = list(booster.feature_names or [])
+
+    def index(split):
+        if split in names:
+            return names.index(split)
+        if split.startswith("f") and split[1:].isdigit():
+            return int(split[1:])
+        raise ValueError(f"Unknown split feature {split!r}")
+
+    return index
+
+
+def flatten_tree(tree, output, feature_index):
+    nodes = {}
+    stack = [tree]
+    while stack:
+        node = stack.pop()
+        nodes[node["nodeid"]] = node
+        stack.extend(node.get("children", []))
+
+    size = max(nodes) + 1
+    flat = {
+        "output": output,
+        "feature": [-1] * size,
+        "threshold": [0.0] * size,
+        "yes": [-1] * size,
+        "no": [-1] * size,
+        "missing": [-1] * size,
+        "value": [0.0] * size,
+    }
+    for node_id, node in nodes.items():
+        if "leaf" in node:
+            flat["value"][node_id] = node["leaf"]
+        else:
+            flat["feature"][node_id] = feature_index(node["split"])
+            flat["threshold"][node_id] = node["split_condition"]
+            flat["yes"][node_id] = node["yes"]
+            flat["no"][node_id] = node["no"]
+            flat["missing"][node_id] = node["missing"]
+    return flat
+
+
+def export(output_path):
+    model = joblib.load(MODEL_FILE)
+    encoders = joblib.load(ENCODERS_FILE)
+    booster = model.get_booster()
+
+    classes = [str(c) for c in encoders["le_med"].classes_]
+    num_outputs = 1 if len(classes) == 2 else len(classes)
+
+    config = json.loads(booster.save_config())
+    base_score = float(config["learner"]["learner_model_param"]["base_score"])
+    # binary:logistic stores base_score as a probability; the trees add to its logit
+    base_margin = math.log(base_score / (1 - base_score)) if num_outputs == 1 else base_score
+
+    feature_index = feature_indexer(booster)
+    dumps = booster.get_dump(dump_format="json")
+    trees = [flatten_tree(json.loads(dump), i % num_outputs, feature_index) for i, dump in enumerate(dumps)]
+
+    exported = {
+        "format": "medica-tree-ensemble",
+        "formatVersion": 1,
+        "modelVersion": model_version(MODEL_FILE),
+        "features": FEATURES,
+        "encoders": {feature: [str(c) for c in encoders[key].classes_] for feature, key in ENCODER_KEYS.items()},
+        "classes": classes,
+        "numOutputs": num_outputs,
+        "baseMargin": base_margin,
+        "trees": trees,
+    }
+    with open(output_path, "w", encoding="utf-8") as f:
+        json.dump(exported, f)
+
+    print(f"Exported {len(trees)} trees, {len(classes)} classes to {output_path} "
+          f"(model version {exported['modelVersion']})")
+
+
+if __name__ == "__main__":
+    export(sys.argv[1] if len(sys.argv) > 1 else DEFAULT_OUTPUT)
@@ -7,6 +7,7 @@ import numpy as np
 from typing import Optional
 from sklearn.preprocessing import LabelEncoder, StandardScaler
 from contextlib import asynccontextmanager
+import hashlib
 
 # Globals for medication predictor
 med_model: any
@@ -16,6 +17,7 @@ le_diag: LabelEncoder
 le_allergy: LabelEncoder
 le_chronic: LabelEncoder
 le_med: LabelEncoder
+med_model_version: str
 
 # Globals for improvement model
 impr_model: any
@@ -27,7 +29,7 @@ async def lifespan(app: FastAPI):
     """
     Load all models and encoders at application startup.
     """
-    global med_model, med_encoders, le_gender, le_diag, le_allergy, le_chronic, le_med
+    global med_model, med_encoders, le_gender, le_diag, le_allergy, le_chronic, le_med, med_model_version
     global impr_model, impr_encoders, impr_scaler
 
     # Medication artifacts
@@ -38,6 +40,9 @@ async def lifespan(app: FastAPI):
     le_allergy = med_encoders.get("le_allergy")
     le_chronic = med_encoders.get("le_chronic")
     le_med = med_encoders.get("le_med")
+    # Same version string as export_medicine_model.py, so cached predictions can be tied to the model
+    with open("predict_medicine_model.pkl", "rb") as f:
+        med_model_version = hashlib.sha256(f.read()).hexdigest()[:12]
 
     # Improvement artifacts
     impr_model = joblib.load("PredictImprovementBestModel.pkl")
@@ -65,6 +70,45 @@ def preprocess_data(df, encoders, scaler):
 
     return df
 
+# Improvement model inputs, in the column order the model was trained on
+IMPROVEMENT_CATEGORICAL = ['gender', 'diagnosis', 'allergies', 'chronic_conditions', 'medicine']
+IMPROVEMENT_NUMERIC = ["Blood_Pressure_Systolic_BP", "HbA1c", "LDL_Cholesterol", "BNP", "Endoscopy_Result", "TSH"]
+IMPROVEMENT_FEATURES = ["age", "gender", "diagnosis", "medicine", "allergies", "chronic_conditions",
+                        "severity", "smoking", *IMPROVEMENT_NUMERIC, "age_group"]
+MAX_BATCH_ROWS = 5000
+
+def preprocess_batch(df, encoders, scaler):
+    """
+    Vectorized preprocess_data for many patients. Rows are scored independently: a missing test
+    value stays missing (as it does for a single-row request) instead of taking the batch mean,
+    and a row with an unknown category or unusable age gets an error instead of failing the batch.
+    Returns the feature frame and a per-row error series (None for scorable rows).
+    """
+    errors = pd.Series([None] * len(df), index=df.index, dtype=object)
+
+    for col in IMPROVEMENT_CATEGORICAL:
+        values = df[col].fillna('None').astype(str) if col in df.columns else pd.Series('None', index=df.index)
+        le = encoders.get(col, None)
+        if le is not None:
+            known = values.isin(le.classes_)
+            errors = errors.where(known | errors.notna(), "Unknown " + col + ": " + values)
+            values = le.transform(values.where(known, le.classes_[0]))
+        df[col] = values
+
+    for col in ["age", "severity", "smoking", *IMPROVEMENT_NUMERIC]:
+        df[col] = pd.to_numeric(df[col], errors='coerce') if col in df.columns else np.nan
+
+    age_group = pd.cut(df['age'], bins=[0, 30, 50, 70, 100], labels=[0, 1, 2, 3], include_lowest=True)
+    errors = errors.where(age_group.notna() | errors.notna(), "Age must be between 0 and 100")
+    df['age_group'] = age_group.cat.codes.clip(lower=0).astype(int)
+    df['age'] = scaler.transform(df[['age']].fillna(0))
+
+    columns = list(getattr(impr_model, "feature_names_in_", IMPROVEMENT_FEATURES))
+    return df[columns], errors
+
+class ImprovementBatchRequest(BaseModel):
+    rows: list[dict] = Field(..., description="One /predictImprovement body per patient")
+
 class MedicationRequest(BaseModel):
     age: Optional[int] = Field(None, example=55)
     gender: Optional[str] = Field(None, example="Male")
@@ -103,7 +147,7 @@ def predict_medication(req: MedicationRequest):
         x = np.array([[age, g, d, a, c]])
         idx = med_model.predict(x)[0]
         med = le_med.inverse_transform([idx])[0]
-        return {"medicine": med}
+        return {"medicine": med, "model_version": med_model_version}
     except ValueError as e:
         raise HTTPException(400, detail=f"Encoding error: {e}")
     except Exception as e:
@@ -137,13 +181,44 @@ async def predict_improvement(data: dict):
             "message": "Prediction completed successfully"
         })
 
+    # Unknown labels, missing fields and out-of-range ages are bad input, not a model failure: a 400
+    # keeps callers' circuit breakers (which count 5xx) from opening on them
+    except (ValueError, KeyError) as e:
+        return JSONResponse(status_code=400, content={"error": f"Invalid input: {e}"})
     except Exception as e:
         return JSONResponse(status_code=500, content={"error": str(e)})
 
+# Batch improvement prediction: one vectorized model call for many patients
+@app.post("/predictImprovementBatch", summary="Predict improvement for many patients", response_model=dict)
+def predict_improvement_batch(req: ImprovementBatchRequest):
+    if len(req.rows) > MAX_BATCH_ROWS:
+        raise HTTPException(413, detail=f"At most {MAX_BATCH_ROWS} rows per batch")
+    if not req.rows:
+        return {"results": []}
+    try:
+        X, errors = preprocess_batch(pd.DataFrame.from_records(req.rows), impr_encoders, impr_scaler)
+        y_pred = impr_model.predict(X)
+        prob = impr_model.predict_proba(X)[:, 1]
+    except Exception as e:
+        raise HTTPException(500, detail=f"Prediction error: {e}")
+
+    # results[i] answers rows[i]
+    results = []
+    for error, label, p in zip(errors, y_pred, prob):
+        if error is not None:
+            results.append({"error": error})
+        else:
+            results.append({
+                "prediction": "Improved" if label == 1 else "Not Improved",
+                "improvement_probability": float(p),
+            })
+    return {"results": results}
+
 # API status endpoint
 @app.get("/", summary="API status")
 def status():
-    return {"status": "ok", "improvement_model_loaded": True, "medication_model_loaded": True}
+    return {"status": "ok", "improvement_model_loaded": True, "medication_model_loaded": True,
+            "medication_model_version": med_model_version}
 
 # Run the app
 if __name__ == "__main__":